@@ -0,0 +1,96 @@
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * Result of a level-synchronous breadth first search over a CSRGraph. Holds
+ * the visit order together with the level (hop distance from the start) and
+ * the bfs tree parent of every vertex, both indexed by vertex id.
+ * @param <T> the generic typing of the data
+ */
+public class BFSResult<T> {
+
+    private final CSRGraph<T> graph;
+    private final int[] order;
+    private final int[] levels;
+    private final int[] parents;
+
+    /**
+     * Constructs a new BFSResult.
+     * @param graph   the CSR graph the search ran on
+     * @param order   ids of the reached vertices in visited order
+     * @param levels  level of every vertex, -1 if unreached
+     * @param parents parent id of every vertex, -1 if unreached or the start
+     */
+    BFSResult(CSRGraph<T> graph, int[] order, int[] levels, int[] parents) {
+        this.graph = graph;
+        this.order = order;
+        this.levels = levels;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the reached vertices in visited order: level by level, and in
+     * ascending id order within each level.
+     * @return list of vertices in visited order
+     */
+    public List<Vertex<T>> getVisitList() {
+        List<Vertex<T>> list = new ArrayList<>(order.length);
+        for (int id : order) {
+            list.add(graph.getVertex(id));
+        }
+        return list;
+    }
+
+    /**
+     * Returns the level of every vertex, indexed by vertex id. Unreached
+     * vertices have level -1.
+     * @return the backing array of levels
+     */
+    public int[] getLevels() {
+        return levels;
+    }
+
+    /**
+     * Returns the bfs tree parent of every vertex, indexed by vertex id. The
+     * start and unreached vertices have parent -1.
+     * @return the backing array of parent ids
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * Returns the level of the vertex.
+     * @param vertex the vertex to look up
+     * @return the level of the vertex, or -1 if it was not reached
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public int getLevel(Vertex<T> vertex) {
+        return levels[idOf(vertex)];
+    }
+
+    /**
+     * Returns the bfs tree parent of the vertex.
+     * @param vertex the vertex to look up
+     * @return the parent, or null for the start and unreached vertices
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public Vertex<T> getParent(Vertex<T> vertex) {
+        int parent = parents[idOf(vertex)];
+        return parent < 0 ? null : graph.getVertex(parent);
+    }
+
+    /**
+     * Looks up the id of the vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    private int idOf(Vertex<T> vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,372 @@
+import java.util.Set;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Arrays;
+import java.nio.IntBuffer;
+
+/**
+ * Immutable compressed sparse row (CSR) form of a graph. Every vertex is given
+ * a dense int id in [0, vertexCount()), and the outgoing edges of vertex v are
+ * stored in positions [edgeStart(v), edgeEnd(v)) of flat target and weight
+ * arrays, so traversals touch primitive arrays instead of boxed adjacency
+ * lists. The arrays are held as IntBuffers so a graph opened by GraphFile
+ * can run directly on memory-mapped, off-heap storage.
+ * @param <T> the generic typing of the data
+ */
+public class CSRGraph<T> implements VertexIndex<T> {
+
+    private final Vertex<T>[] vertices;
+    private final Map<Vertex<T>, Integer> ids;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private volatile CSRGraph<T> transpose;
+
+    /**
+     * Builds a CSR graph from the same vertex and edge sets accepted by
+     * Graph.
+     * @param vertices the vertices of the graph
+     * @param edges    the directed edges of the graph
+     * @throws IllegalArgumentException if any input is null, or if an edge
+     *                                  refers to a vertex not in vertices
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CSRGraph(Set<Vertex<T>> vertices, Set<Edge<T>> edges) {
+        if (vertices == null || edges == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        int n = vertices.size();
+        this.vertices = (Vertex<T>[]) new Vertex[n];
+        this.ids = new HashMap<>(2 * n);
+        for (Vertex<T> v : vertices) {
+            this.vertices[ids.size()] = v;
+            ids.put(v, ids.size());
+        }
+
+        int[] sources = new int[edges.size()];
+        int[] dests = new int[edges.size()];
+        int[] costs = new int[edges.size()];
+        int m = 0;
+        for (Edge<T> e : edges) {
+            Integer u = ids.get(e.getU());
+            Integer v = ids.get(e.getV());
+            if (u == null || v == null) {
+                throw new IllegalArgumentException("Vertex set must contain all"
+                        + " vertices of the graph.");
+            }
+            sources[m] = u;
+            dests[m] = v;
+            costs[m] = e.getWeight();
+            m++;
+        }
+
+        int[] offsetArray = new int[n + 1];
+        int[] slots = slots(sources, m, offsetArray);
+        int[] targetArray = new int[m];
+        int[] weightArray = new int[m];
+        for (int i = 0; i < m; i++) {
+            targetArray[slots[i]] = dests[i];
+            weightArray[slots[i]] = costs[i];
+        }
+        offsets = IntBuffer.wrap(offsetArray);
+        targets = IntBuffer.wrap(targetArray);
+        weights = IntBuffer.wrap(weightArray);
+    }
+
+    /**
+     * Builds a CSR graph from an existing Graph, keeping the neighbor order
+     * of its adjacency list so traversals visit vertices in the same order.
+     * @param graph the graph to convert
+     * @throws IllegalArgumentException if graph is null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CSRGraph(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        Map<Vertex<T>, List<VertexDistance<T>>> adjList = graph.getAdjList();
+        int n = adjList.size();
+        vertices = (Vertex<T>[]) new Vertex[n];
+        ids = new HashMap<>(2 * n);
+        int m = 0;
+        for (Map.Entry<Vertex<T>, List<VertexDistance<T>>> entry
+                : adjList.entrySet()) {
+            vertices[ids.size()] = entry.getKey();
+            ids.put(entry.getKey(), ids.size());
+            m += entry.getValue().size();
+        }
+
+        int[] offsetArray = new int[n + 1];
+        int[] targetArray = new int[m];
+        int[] weightArray = new int[m];
+        int slot = 0;
+        for (int u = 0; u < n; u++) {
+            offsetArray[u] = slot;
+            for (VertexDistance<T> vd : adjList.get(vertices[u])) {
+                targetArray[slot] = ids.get(vd.getVertex());
+                weightArray[slot] = vd.getDistance();
+                slot++;
+            }
+        }
+        offsetArray[n] = slot;
+        offsets = IntBuffer.wrap(offsetArray);
+        targets = IntBuffer.wrap(targetArray);
+        weights = IntBuffer.wrap(weightArray);
+    }
+
+    /**
+     * Constructs a CSR graph over existing buffers, such as the mapped
+     * sections of a graph file.
+     * @param vertices the vertices indexed by id
+     * @param offsets  the edge offsets of every vertex, vertexCount + 1 long
+     * @param targets  the target of every edge
+     * @param weights  the weight of every edge
+     */
+    CSRGraph(Vertex<T>[] vertices, IntBuffer offsets, IntBuffer targets,
+             IntBuffer weights) {
+        this.vertices = vertices;
+        this.ids = new HashMap<>(2 * vertices.length);
+        for (int v = 0; v < vertices.length; v++) {
+            ids.put(vertices[v], v);
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Constructs a CSR graph directly from its arrays.
+     * @param vertices the vertices indexed by id
+     * @param ids      the id of every vertex
+     * @param offsets  the edge offsets of every vertex
+     * @param targets  the target of every edge
+     * @param weights  the weight of every edge
+     */
+    private CSRGraph(Vertex<T>[] vertices, Map<Vertex<T>, Integer> ids,
+                     IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Groups a list of edges by source with a counting sort. Fills offsets
+     * with the CSR edge offsets of every vertex and returns the position
+     * each edge is stored at, so the weighted variants share one layout.
+     * @param sources the source id of every edge
+     * @param m       the number of edges in sources
+     * @param offsets the array to fill, vertexCount + 1 long
+     * @return the CSR position of every edge, in input order
+     */
+    static int[] slots(int[] sources, int m, int[] offsets) {
+        int n = offsets.length - 1;
+        for (int i = 0; i < m; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        int[] slots = new int[m];
+        for (int i = 0; i < m; i++) {
+            slots[i] = cursor[sources[i]]++;
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the transpose of this graph, which has every edge reversed and
+     * the same vertex ids. The transpose is built on first use and cached.
+     * @return the transposed graph
+     */
+    public CSRGraph<T> transpose() {
+        CSRGraph<T> result = transpose;
+        if (result == null) {
+            int n = vertices.length;
+            int m = targets.capacity();
+            int[] reverseOffsets = new int[n + 1];
+            int[] reverseTargets = new int[m];
+            int[] reverseWeights = new int[m];
+            for (int e = 0; e < m; e++) {
+                reverseOffsets[targets.get(e) + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                reverseOffsets[v + 1] += reverseOffsets[v];
+            }
+            int[] cursor = new int[n];
+            System.arraycopy(reverseOffsets, 0, cursor, 0, n);
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets.get(u); e < offsets.get(u + 1); e++) {
+                    int slot = cursor[targets.get(e)]++;
+                    reverseTargets[slot] = u;
+                    reverseWeights[slot] = weights.get(e);
+                }
+            }
+            result = new CSRGraph<>(vertices, ids, IntBuffer.wrap(reverseOffsets),
+                    IntBuffer.wrap(reverseTargets), IntBuffer.wrap(reverseWeights));
+            result.transpose = this;
+            transpose = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of this graph with its vertices renumbered, so that
+     * vertices traversed together can be placed next to each other in
+     * memory. The neighbors of every vertex are also sorted by their new id,
+     * which turns neighbor scans into forward sweeps through the arrays.
+     * @param permutation the new id of every vertex, indexed by its old id
+     * @return the renumbered graph
+     * @throws IllegalArgumentException if permutation is null or is not a
+     *                                  permutation of the vertex ids
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CSRGraph<T> reorder(int[] permutation) {
+        int n = vertices.length;
+        if (permutation == null || permutation.length != n) {
+            throw new IllegalArgumentException("Permutation must cover every vertex.");
+        }
+        Vertex<T>[] reordered = (Vertex<T>[]) new Vertex[n];
+        for (int v = 0; v < n; v++) {
+            int id = permutation[v];
+            if (id < 0 || id >= n || reordered[id] != null) {
+                throw new IllegalArgumentException("Permutation must cover every vertex.");
+            }
+            reordered[id] = vertices[v];
+        }
+        int m = targets.capacity();
+        int[] newOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            newOffsets[permutation[v] + 1] = degree(v);
+        }
+        for (int v = 0; v < n; v++) {
+            newOffsets[v + 1] += newOffsets[v];
+        }
+        int[] newTargets = new int[m];
+        int[] newWeights = new int[m];
+        long[] edges = new long[16];
+        for (int v = 0; v < n; v++) {
+            int degree = degree(v);
+            if (edges.length < degree) {
+                edges = new long[Math.max(degree, 2 * edges.length)];
+            }
+            for (int i = 0; i < degree; i++) {
+                int e = offsets.get(v) + i;
+                edges[i] = (long) permutation[targets.get(e)] << 32
+                        | (weights.get(e) & 0xFFFFFFFFL);
+            }
+            Arrays.sort(edges, 0, degree);
+            int slot = newOffsets[permutation[v]];
+            for (int i = 0; i < degree; i++) {
+                newTargets[slot + i] = (int) (edges[i] >>> 32);
+                newWeights[slot + i] = (int) edges[i];
+            }
+        }
+        Map<Vertex<T>, Integer> newIds = new HashMap<>(2 * n);
+        for (int id = 0; id < n; id++) {
+            newIds.put(reordered[id], id);
+        }
+        return new CSRGraph<>(reordered, newIds, IntBuffer.wrap(newOffsets),
+                IntBuffer.wrap(newTargets), IntBuffer.wrap(newWeights));
+    }
+
+    /**
+     * Returns a copy of this graph renumbered by the given strategy.
+     * @param ordering the strategy that picks the new ids
+     * @return the renumbered graph
+     * @throws IllegalArgumentException if ordering is null
+     */
+    public CSRGraph<T> reorder(VertexOrdering ordering) {
+        if (ordering == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        return reorder(ordering.permutation(this));
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     * @return the number of vertices
+     */
+    @Override
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the number of directed edges in the graph.
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return targets.capacity();
+    }
+
+    /**
+     * Returns the dense id of the given vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex, or -1 if it is not in the graph
+     */
+    @Override
+    public int indexOf(Vertex<T> vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex with the given dense id.
+     * @param id the id of the vertex
+     * @return the vertex with that id
+     */
+    @Override
+    public Vertex<T> getVertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Returns the position of the first outgoing edge of vertex u.
+     * @param u the id of the vertex
+     * @return the first edge position of u
+     */
+    public int edgeStart(int u) {
+        return offsets.get(u);
+    }
+
+    /**
+     * Returns the position one past the last outgoing edge of vertex u.
+     * @param u the id of the vertex
+     * @return the end edge position of u
+     */
+    public int edgeEnd(int u) {
+        return offsets.get(u + 1);
+    }
+
+    /**
+     * Returns the out-degree of vertex u.
+     * @param u the id of the vertex
+     * @return the number of outgoing edges of u
+     */
+    public int degree(int u) {
+        return offsets.get(u + 1) - offsets.get(u);
+    }
+
+    /**
+     * Returns the id of the vertex the edge at position e points to.
+     * @param e the edge position
+     * @return the target vertex id
+     */
+    public int target(int e) {
+        return targets.get(e);
+    }
+
+    /**
+     * Returns the weight of the edge at position e.
+     * @param e the edge position
+     * @return the edge weight
+     */
+    public int weight(int e) {
+        return weights.get(e);
+    }
+}
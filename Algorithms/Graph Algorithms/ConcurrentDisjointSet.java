@@ -0,0 +1,115 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set (union-find) forest over the int ids [0, size).
+ * Parents live in an AtomicIntegerArray and every change is a CAS, so any
+ * number of threads can call union and find at the same time, for example
+ * while edges are streamed in. Roots are linked by id, the larger under the
+ * smaller, which keeps the forest acyclic under contention; finds halve
+ * paths as they go.
+ */
+public class ConcurrentDisjointSet {
+
+    private final AtomicIntegerArray parents;
+
+    /**
+     * Constructs a new ConcurrentDisjointSet where every id is in its own
+     * set.
+     * @param size the number of ids
+     * @throws java.lang.IllegalArgumentException if size is negative
+     */
+    public ConcurrentDisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size is negative!");
+        }
+        parents = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parents.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the current representative of the set containing id, halving
+     * the path to it along the way.
+     * @param id the id to look up
+     * @return the representative id of its set
+     */
+    public int find(int id) {
+        while (true) {
+            int parent = parents.get(id);
+            if (parent == id) {
+                return id;
+            }
+            int grandparent = parents.get(parent);
+            if (parent != grandparent) {
+                parents.compareAndSet(id, parent, grandparent);
+            }
+            id = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing a and b.
+     * @param a an id in the first set
+     * @param b an id in the second set
+     * @return true if this call merged two different sets
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int low = Math.min(rootA, rootB);
+            int high = Math.max(rootA, rootB);
+            if (parents.compareAndSet(high, high, low)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns whether a and b are in the same set. While other threads are
+     * still calling union, a false answer may already be stale.
+     * @param a the first id
+     * @param b the second id
+     * @return true if a and b are in the same set
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            if (parents.get(rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ids.
+     * @return the number of ids
+     */
+    public int size() {
+        return parents.length();
+    }
+
+    /**
+     * Numbers the sets densely, in order of their lowest id, and returns the
+     * number of every id's set. Call once no union is running.
+     * @return the set number of every id, in [0, number of sets)
+     */
+    public int[] labels() {
+        int n = parents.length();
+        int[] labels = new int[n];
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(i);
+            labels[i] = root == i ? next++ : labels[root];
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel connected-component labelling of a CSRGraph, treating every
+ * edge as undirected. Both algorithms number the components densely in
+ * order of their lowest vertex id, so they return identical labels.
+ */
+final class ConnectedComponents {
+
+    /**
+     * Vertices handled by one task.
+     */
+    private static final int GRAIN = 4096;
+
+    /**
+     * Prevents instantiation.
+     */
+    private ConnectedComponents() {
+    }
+
+    /**
+     * Labels components by streaming every edge into a lock-free
+     * ConcurrentDisjointSet from the workers of pool.
+     * @param graph the CSR graph to label
+     * @param pool  the pool whose workers add edges
+     * @return the component of every vertex, indexed by vertex id
+     */
+    static int[] unionFind(CSRGraph<?> graph, ForkJoinPool pool) {
+        ConcurrentDisjointSet components =
+                new ConcurrentDisjointSet(graph.vertexCount());
+        pool.invoke(new Union(graph, components, 0, graph.vertexCount()));
+        return components.labels();
+    }
+
+    /**
+     * Labels components by min-label propagation: every vertex repeatedly
+     * takes the smallest label among itself and its in- and out-neighbors,
+     * in parallel, until no label changes. Takes O(diameter) rounds.
+     * @param graph the CSR graph to label
+     * @param pool  the pool whose workers run each round
+     * @return the component of every vertex, indexed by vertex id
+     */
+    static int[] labelPropagation(CSRGraph<?> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray labels = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            labels.set(v, v);
+        }
+        CSRGraph<?> reverse = graph.transpose();
+        boolean changed = true;
+        while (changed) {
+            changed = pool.invoke(new Propagate(graph, reverse, labels, 0, n));
+        }
+        int[] dense = new int[n];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int label = labels.get(v);
+            dense[v] = label == v ? next++ : dense[label];
+        }
+        return dense;
+    }
+
+    /**
+     * Unions the endpoints of the out-edges of a range of vertices.
+     */
+    private static final class Union extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final ConcurrentDisjointSet components;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Union over the vertex ids [lo, hi).
+         * @param graph      the CSR graph to label
+         * @param components the shared disjoint set
+         * @param lo         first vertex id of the range
+         * @param hi         one past the last vertex id of the range
+         */
+        Union(CSRGraph<?> graph, ConcurrentDisjointSet components, int lo,
+              int hi) {
+            this.graph = graph;
+            this.components = components;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Union(graph, components, lo, mid),
+                        new Union(graph, components, mid, hi));
+                return;
+            }
+            for (int u = lo; u < hi; u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    components.union(u, graph.target(e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one round of min-label propagation over a range of vertices and
+     * returns whether any label changed.
+     */
+    private static final class Propagate extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final CSRGraph<?> reverse;
+        private final AtomicIntegerArray labels;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Propagate over the vertex ids [lo, hi).
+         * @param graph   the CSR graph to label
+         * @param reverse the transpose of graph
+         * @param labels  the current label of every vertex
+         * @param lo      first vertex id of the range
+         * @param hi      one past the last vertex id of the range
+         */
+        Propagate(CSRGraph<?> graph, CSRGraph<?> reverse,
+                  AtomicIntegerArray labels, int lo, int hi) {
+            this.graph = graph;
+            this.reverse = reverse;
+            this.labels = labels;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                Propagate left = new Propagate(graph, reverse, labels, lo, mid);
+                left.fork();
+                boolean right = new Propagate(graph, reverse, labels, mid, hi)
+                        .compute();
+                return left.join() | right;
+            }
+            boolean changed = false;
+            for (int v = lo; v < hi; v++) {
+                int label = labels.get(v);
+                int min = label;
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    min = Math.min(min, labels.get(graph.target(e)));
+                }
+                for (int e = reverse.edgeStart(v); e < reverse.edgeEnd(v); e++) {
+                    min = Math.min(min, labels.get(reverse.target(e)));
+                }
+                if (min < label) {
+                    labels.set(v, min);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Result of an iterative depth first search over a CSRGraph. Holds the
+ * pre-order and post-order of the reached vertices together with their
+ * discovery and finish times, where one clock ticks on every discovery and
+ * every finish. The search uses an explicit primitive stack, so it never
+ * recurses no matter how long the paths in the graph are.
+ * @param <T> the generic typing of the data
+ */
+public class DFSResult<T> {
+
+    private final CSRGraph<T> graph;
+    private final int[] preOrder;
+    private final int[] postOrder;
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] stack;
+    private final int[] cursor;
+    private int preCount;
+    private int postCount;
+    private int time;
+
+    /**
+     * Constructs an empty DFSResult for the given graph.
+     * @param graph the CSR graph the search runs on
+     */
+    DFSResult(CSRGraph<T> graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        preOrder = new int[n];
+        postOrder = new int[n];
+        discovery = new int[n];
+        finish = new int[n];
+        stack = new int[n];
+        cursor = new int[n];
+        Arrays.fill(discovery, -1);
+        Arrays.fill(finish, -1);
+    }
+
+    /**
+     * Runs the depth first search from root if it has not been reached yet,
+     * continuing the same clock and orders as earlier searches.
+     * @param root id of the vertex to start from
+     */
+    void search(int root) {
+        if (discovery[root] >= 0) {
+            return;
+        }
+        int top = 0;
+        discover(root);
+        cursor[root] = graph.edgeStart(root);
+        stack[top++] = root;
+        while (top > 0) {
+            int u = stack[top - 1];
+            if (cursor[u] < graph.edgeEnd(u)) {
+                int w = graph.target(cursor[u]++);
+                if (discovery[w] < 0) {
+                    discover(w);
+                    cursor[w] = graph.edgeStart(w);
+                    stack[top++] = w;
+                }
+            } else {
+                top--;
+                finish[u] = time++;
+                postOrder[postCount++] = u;
+            }
+        }
+    }
+
+    /**
+     * Marks the vertex as discovered.
+     * @param u id of the vertex
+     */
+    private void discover(int u) {
+        discovery[u] = time++;
+        preOrder[preCount++] = u;
+    }
+
+    /**
+     * Returns the reached vertices in pre-order, which matches the order
+     * returned by GraphAlgorithms.dfs.
+     * @return list of vertices in pre-order
+     */
+    public List<Vertex<T>> getPreOrder() {
+        return toVertices(preOrder, preCount);
+    }
+
+    /**
+     * Returns the reached vertices in the order they finished.
+     * @return list of vertices in post-order
+     */
+    public List<Vertex<T>> getPostOrder() {
+        return toVertices(postOrder, postCount);
+    }
+
+    /**
+     * Returns the vertex ids in post-order.
+     * @return a copy of the post-order ids
+     */
+    public int[] getPostOrderIds() {
+        return Arrays.copyOf(postOrder, postCount);
+    }
+
+    /**
+     * Returns the time the vertex was discovered.
+     * @param vertex the vertex to look up
+     * @return the discovery time, or -1 if the vertex was not reached
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public int getDiscoveryTime(Vertex<T> vertex) {
+        return discovery[idOf(vertex)];
+    }
+
+    /**
+     * Returns the time the vertex finished.
+     * @param vertex the vertex to look up
+     * @return the finish time, or -1 if the vertex was not reached
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public int getFinishTime(Vertex<T> vertex) {
+        return finish[idOf(vertex)];
+    }
+
+    /**
+     * Returns the number of vertices reached by the search.
+     * @return the number of reached vertices
+     */
+    public int size() {
+        return preCount;
+    }
+
+    /**
+     * Looks up the id of the vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    private int idOf(Vertex<T> vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return id;
+    }
+
+    /**
+     * Converts a prefix of an id array into a list of vertices.
+     * @param ids   the ids to convert
+     * @param count how many ids to convert
+     * @return list of the vertices
+     */
+    private List<Vertex<T>> toVertices(int[] ids, int count) {
+        List<Vertex<T>> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(graph.getVertex(ids[i]));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,202 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping single-source shortest paths (Meyer and Sanders). Vertices
+ * are kept in buckets of width delta by tentative distance. The lowest
+ * non-empty bucket is emptied by relaxing the light edges (weight at most
+ * delta) of all its vertices in parallel, repeating while relaxations refill
+ * it, and then the heavy edges of every vertex it held are relaxed in
+ * parallel once. Distances are lowered with a CAS, so workers of the
+ * ForkJoinPool never lock.
+ */
+final class DeltaStepping {
+
+    /**
+     * Vertices relaxed by one task.
+     */
+    private static final int GRAIN = 256;
+
+    /**
+     * Prevents instantiation.
+     */
+    private DeltaStepping() {
+    }
+
+    /**
+     * Picks a bucket width of the maximum weight divided by the average
+     * out-degree, which keeps the work per bucket balanced on most graphs.
+     * @param graph the CSR graph to search through
+     * @return a positive bucket width
+     */
+    static long defaultDelta(CSRGraph<?> graph) {
+        long maxWeight = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            maxWeight = Math.max(maxWeight, graph.weight(e));
+        }
+        long averageDegree = Math.max(1, graph.edgeCount()
+                / Math.max(1, graph.vertexCount()));
+        return Math.max(1, maxWeight / averageDegree);
+    }
+
+    /**
+     * Runs the search.
+     * @param source id of the source vertex
+     * @param graph  the CSR graph to search through
+     * @param delta  the bucket width
+     * @param pool   the pool whose workers relax edges
+     * @return the distance of every vertex, Long.MAX_VALUE if unreachable
+     */
+    static long[] distances(int source, CSRGraph<?> graph, long delta,
+                            ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicLongArray dist = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            dist.set(v, Long.MAX_VALUE);
+        }
+        dist.set(source, 0);
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        insert(buckets, source, 0, delta);
+
+        int[] frontierMark = new int[n];
+        int[] removedMark = new int[n];
+        int stamp = 0;
+        int phase = 0;
+        while (!buckets.isEmpty()) {
+            long index = buckets.firstKey();
+            phase++;
+            IntList removed = new IntList(64);
+            while (buckets.containsKey(index)) {
+                IntList bucket = buckets.remove(index);
+                stamp++;
+                IntList frontier = new IntList(bucket.size());
+                for (int i = 0; i < bucket.size(); i++) {
+                    int v = bucket.get(i);
+                    if (frontierMark[v] != stamp && dist.get(v) / delta == index) {
+                        frontierMark[v] = stamp;
+                        frontier.add(v);
+                        if (removedMark[v] != phase) {
+                            removedMark[v] = phase;
+                            removed.add(v);
+                        }
+                    }
+                }
+                int[] updated = pool.invoke(new Relax(graph, dist,
+                        frontier.toArray(), delta, true, 0, frontier.size()));
+                for (int v : updated) {
+                    insert(buckets, v, dist.get(v), delta);
+                }
+            }
+            int[] updated = pool.invoke(new Relax(graph, dist,
+                    removed.toArray(), delta, false, 0, removed.size()));
+            for (int v : updated) {
+                insert(buckets, v, dist.get(v), delta);
+            }
+        }
+
+        long[] result = new long[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = dist.get(v);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the vertex to the bucket covering its distance.
+     * @param buckets  the buckets by index
+     * @param v        id of the vertex
+     * @param distance tentative distance of the vertex
+     * @param delta    the bucket width
+     */
+    private static void insert(Map<Long, IntList> buckets, int v, long distance,
+                               long delta) {
+        long index = distance / delta;
+        IntList bucket = buckets.get(index);
+        if (bucket == null) {
+            bucket = new IntList(16);
+            buckets.put(index, bucket);
+        }
+        bucket.add(v);
+    }
+
+    /**
+     * Relaxes either the light or the heavy out-edges of a slice of
+     * vertices and returns the targets whose distance went down.
+     */
+    private static final class Relax extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final AtomicLongArray dist;
+        private final int[] vertices;
+        private final long delta;
+        private final boolean light;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Relax over vertices[lo, hi).
+         * @param graph    the CSR graph to search through
+         * @param dist     tentative distance of every vertex
+         * @param vertices ids of the vertices whose edges are relaxed
+         * @param delta    the bucket width
+         * @param light    true to relax edges of weight at most delta, false
+         *                 to relax the heavier ones
+         * @param lo       first index of the slice
+         * @param hi       one past the last index of the slice
+         */
+        Relax(CSRGraph<?> graph, AtomicLongArray dist, int[] vertices,
+              long delta, boolean light, int lo, int hi) {
+            this.graph = graph;
+            this.dist = dist;
+            this.vertices = vertices;
+            this.delta = delta;
+            this.light = light;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                Relax left = new Relax(graph, dist, vertices, delta, light,
+                        lo, mid);
+                left.fork();
+                int[] right = new Relax(graph, dist, vertices, delta, light,
+                        mid, hi).compute();
+                int[] joined = left.join();
+                int[] both = Arrays.copyOf(joined, joined.length + right.length);
+                System.arraycopy(right, 0, both, joined.length, right.length);
+                return both;
+            }
+            IntList updated = new IntList(16);
+            for (int i = lo; i < hi; i++) {
+                int u = vertices[i];
+                long base = dist.get(u);
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int weight = graph.weight(e);
+                    if ((weight <= delta) != light) {
+                        continue;
+                    }
+                    int v = graph.target(e);
+                    long candidate = base + weight;
+                    long old = dist.get(v);
+                    while (candidate < old) {
+                        if (dist.compareAndSet(v, old, candidate)) {
+                            updated.add(v);
+                            break;
+                        }
+                        old = dist.get(v);
+                    }
+                }
+            }
+            return updated.toArray();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reusable buffers for running many Dijkstra searches over one CSRGraph.
+ * The distance array and heap are allocated once; after each search only
+ * the entries it touched are reset, so a search that reaches k vertices
+ * costs O(k) to clean up instead of O(V). The row each search writes its
+ * result into is still O(V), since it holds a distance for every vertex.
+ */
+final class DijkstraWorkspace {
+
+    private final CSRGraph<?> graph;
+    private final long[] dist;
+    private final IndexedDaryHeap heap;
+    private final IntList touched;
+
+    /**
+     * Constructs a new DijkstraWorkspace.
+     * @param graph the CSR graph the searches run on
+     */
+    DijkstraWorkspace(CSRGraph<?> graph) {
+        this.graph = graph;
+        dist = new long[graph.vertexCount()];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        heap = new IndexedDaryHeap(graph.vertexCount());
+        touched = new IntList(64);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from every source, splitting the sources
+     * into about one contiguous chunk per worker of pool. Each chunk
+     * allocates its own workspace and drops it when the chunk finishes, so
+     * nothing stays attached to the pool's threads after the batch.
+     * @param sources id of every source vertex
+     * @param graph   the CSR graph to search through
+     * @param pool    the pool whose workers run the searches
+     * @return one row of distances per source, in the order given
+     */
+    static long[][] runAll(int[] sources, CSRGraph<?> graph,
+                           ForkJoinPool pool) {
+        long[][] rows = new long[sources.length][];
+        if (sources.length > 0) {
+            int grain = (sources.length + pool.getParallelism() - 1)
+                    / pool.getParallelism();
+            pool.invoke(new Batch(graph, sources, rows, 0, sources.length,
+                    grain));
+        }
+        return rows;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from source and writes the distances into
+     * row, which must already be filled with ShortestPaths.UNREACHABLE.
+     * @param source id of the source vertex
+     * @param row    the row to fill, indexed by vertex id
+     */
+    void run(int source, long[] row) {
+        dist[source] = 0;
+        touched.add(source);
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                long candidate = dist[u] + graph.weight(e);
+                if (candidate < dist[v]) {
+                    if (dist[v] == ShortestPaths.UNREACHABLE) {
+                        touched.add(v);
+                    }
+                    dist[v] = candidate;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        for (int i = 0; i < touched.size(); i++) {
+            int v = touched.get(i);
+            row[v] = dist[v];
+            dist[v] = ShortestPaths.UNREACHABLE;
+        }
+        touched.clear();
+    }
+
+    /**
+     * Runs the searches of a contiguous range of sources with one shared
+     * workspace.
+     */
+    private static final class Batch extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final int[] sources;
+        private final long[][] rows;
+        private final int lo;
+        private final int hi;
+        private final int grain;
+
+        /**
+         * Constructs a new Batch over the sources [lo, hi).
+         * @param graph   the CSR graph to search through
+         * @param sources id of every source vertex
+         * @param rows    the rows to fill, one per source
+         * @param lo      index of the first source of the range
+         * @param hi      one past the index of the last source of the range
+         * @param grain   sources handled by one leaf task
+         */
+        Batch(CSRGraph<?> graph, int[] sources, long[][] rows, int lo, int hi,
+              int grain) {
+            this.graph = graph;
+            this.sources = sources;
+            this.rows = rows;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > grain) {
+                int mid = lo + (hi - lo + 1) / 2;
+                invokeAll(new Batch(graph, sources, rows, lo, mid, grain),
+                        new Batch(graph, sources, rows, mid, hi, grain));
+                return;
+            }
+            DijkstraWorkspace workspace = new DijkstraWorkspace(graph);
+            for (int i = lo; i < hi; i++) {
+                long[] row = new long[graph.vertexCount()];
+                Arrays.fill(row, ShortestPaths.UNREACHABLE);
+                workspace.run(sources[i], row);
+                rows[i] = row;
+            }
+        }
+    }
+}
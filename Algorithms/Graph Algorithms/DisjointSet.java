@@ -0,0 +1,112 @@
+/**
+ * Disjoint-set (union-find) forest over the int ids [0, size) with path
+ * compression and union by rank, so any sequence of m operations runs in
+ * O(m * alpha(n)) time. Parents and ranks are primitive arrays.
+ */
+public class DisjointSet {
+
+    private final int[] parents;
+    private final byte[] ranks;
+    private int count;
+
+    /**
+     * Constructs a new DisjointSet where every id is in its own set.
+     * @param size the number of ids
+     * @throws java.lang.IllegalArgumentException if size is negative
+     */
+    public DisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size is negative!");
+        }
+        parents = new int[size];
+        ranks = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+        }
+        count = size;
+    }
+
+    /**
+     * Returns the representative of the set containing id, compressing the
+     * path to it along the way.
+     * @param id the id to look up
+     * @return the representative id of its set
+     */
+    public int find(int id) {
+        int root = id;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        while (parents[id] != root) {
+            int next = parents[id];
+            parents[id] = root;
+            id = next;
+        }
+        return root;
+    }
+
+    /**
+     * Returns the representative of the set containing id without modifying
+     * the forest, so it is safe to call from several threads while no union
+     * is running.
+     * @param id the id to look up
+     * @return the representative id of its set
+     */
+    public int findWithoutCompression(int id) {
+        while (parents[id] != id) {
+            id = parents[id];
+        }
+        return id;
+    }
+
+    /**
+     * Merges the sets containing a and b, attaching the shallower tree under
+     * the deeper one.
+     * @param a an id in the first set
+     * @param b an id in the second set
+     * @return true if a and b were in different sets
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (ranks[rootA] < ranks[rootB]) {
+            parents[rootA] = rootB;
+        } else if (ranks[rootA] > ranks[rootB]) {
+            parents[rootB] = rootA;
+        } else {
+            parents[rootB] = rootA;
+            ranks[rootA]++;
+        }
+        count--;
+        return true;
+    }
+
+    /**
+     * Returns whether a and b are in the same set.
+     * @param a the first id
+     * @param b the second id
+     * @return true if a and b are in the same set
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     * @return the number of sets
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of ids.
+     * @return the number of ids
+     */
+    public int size() {
+        return parents.length;
+    }
+}
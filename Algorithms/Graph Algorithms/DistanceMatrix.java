@@ -0,0 +1,64 @@
+/**
+ * Shortest distances from a batch of sources to every vertex of a
+ * CSRGraph, one primitive long row per source indexed by vertex id.
+ * @param <T> the generic typing of the data
+ */
+public class DistanceMatrix<T> {
+
+    private final CSRGraph<T> graph;
+    private final int[] sources;
+    private final long[][] rows;
+
+    /**
+     * Constructs a new DistanceMatrix.
+     * @param graph   the CSR graph the searches ran on
+     * @param sources id of the source of every row
+     * @param rows    distance rows, ShortestPaths.UNREACHABLE if unreached
+     */
+    DistanceMatrix(CSRGraph<T> graph, int[] sources, long[][] rows) {
+        this.graph = graph;
+        this.sources = sources;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the number of sources, which is the number of rows.
+     * @return the number of sources
+     */
+    public int sourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the source of a row.
+     * @param row the index of the row, in the order the sources were given
+     * @return the source vertex of the row
+     */
+    public Vertex<T> getSource(int row) {
+        return graph.getVertex(sources[row]);
+    }
+
+    /**
+     * Returns the distances of a row, indexed by vertex id.
+     * @param row the index of the row, in the order the sources were given
+     * @return the backing array of the row
+     */
+    public long[] getRow(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Returns the shortest distance from the source of a row to target.
+     * @param row    the index of the row, in the order the sources were given
+     * @param target the vertex to look up
+     * @return the distance, or ShortestPaths.UNREACHABLE if there is no path
+     * @throws IllegalArgumentException if target is not in the graph
+     */
+    public long getDistance(int row, Vertex<T> target) {
+        int id = graph.indexOf(target);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return rows[row][id];
+    }
+}
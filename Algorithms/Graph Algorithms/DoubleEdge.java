@@ -0,0 +1,71 @@
+/**
+ * Directed edge with a double weight, so measured costs such as latencies
+ * can be used as they are instead of being scaled into ints. Edges compare
+ * with Double.compare; NaN weights are rejected because they have no place
+ * in a shortest path or spanning tree order.
+ * @param <T> the generic typing of the data
+ */
+public class DoubleEdge<T> implements Comparable<DoubleEdge<? super T>> {
+
+    private final Vertex<T> u;
+    private final Vertex<T> v;
+    private final double weight;
+
+    /**
+     * Constructs a new DoubleEdge.
+     * @param u      the vertex the edge leaves
+     * @param v      the vertex the edge points to
+     * @param weight the weight of the edge
+     * @throws IllegalArgumentException if u or v is null, or if weight is
+     *                                  NaN
+     */
+    public DoubleEdge(Vertex<T> u, Vertex<T> v, double weight) {
+        if (u == null || v == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        if (Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Weight cannot be NaN.");
+        }
+        this.u = u;
+        this.v = v;
+        this.weight = weight;
+    }
+
+    @Override
+    public int hashCode() {
+        return u.hashCode() ^ v.hashCode() ^ Double.hashCode(weight);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o != null && o instanceof DoubleEdge<?>) {
+            DoubleEdge<?> e = (DoubleEdge<?>) o;
+            return Double.compare(weight, e.weight) == 0 && u.equals(e.u)
+                    && v.equals(e.v);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int compareTo(DoubleEdge<? super T> e) {
+        return Double.compare(weight, e.getWeight());
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public Vertex<T> getU() {
+        return u;
+    }
+
+    public Vertex<T> getV() {
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return "Edge from " + u + " to " + v + " with weight " + weight;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Single-source shortest path tree over a DoubleCSRGraph. Distances are
+ * kept in a double[] and predecessors in an int[], both indexed by vertex
+ * id, so one search answers distance and route queries for every target
+ * without boxing.
+ * @param <T> the generic typing of the data
+ */
+public class DoubleShortestPaths<T> {
+
+    /**
+     * Distance of vertices that cannot be reached from the source.
+     */
+    public static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+
+    private final VertexIndex<T> graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Constructs a new DoubleShortestPaths.
+     * @param graph        the CSR graph the search ran on
+     * @param source       id of the source vertex
+     * @param distances    distance of every vertex, UNREACHABLE if unreached
+     * @param predecessors predecessor id of every vertex, -1 for the source
+     *                     and unreached vertices
+     */
+    DoubleShortestPaths(VertexIndex<T> graph, int source, double[] distances,
+                        int[] predecessors) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Returns the source vertex of the search.
+     * @return the source vertex
+     */
+    public Vertex<T> getSource() {
+        return graph.getVertex(source);
+    }
+
+    /**
+     * Returns the shortest distance from the source to target.
+     * @param target the vertex to look up
+     * @return the distance, or UNREACHABLE if there is no path
+     * @throws IllegalArgumentException if target is not in the graph
+     */
+    public double getDistance(Vertex<T> target) {
+        return distances[idOf(target)];
+    }
+
+    /**
+     * Returns whether target can be reached from the source.
+     * @param target the vertex to look up
+     * @return true if there is a path to target
+     * @throws IllegalArgumentException if target is not in the graph
+     */
+    public boolean hasPathTo(Vertex<T> target) {
+        return distances[idOf(target)] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the vertices of a shortest path from the source to target,
+     * both included.
+     * @param target the last vertex of the path
+     * @return the path, or an empty list if there is no path
+     * @throws IllegalArgumentException if target is not in the graph
+     */
+    public List<Vertex<T>> path(Vertex<T> target) {
+        int v = idOf(target);
+        if (distances[v] == UNREACHABLE) {
+            return Collections.emptyList();
+        }
+        List<Vertex<T>> path = new ArrayList<>();
+        for (; v >= 0; v = predecessors[v]) {
+            path.add(graph.getVertex(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the distance of every vertex, indexed by vertex id.
+     * @return the backing array of distances
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Returns the predecessor of every vertex on its shortest path, indexed
+     * by vertex id.
+     * @return the backing array of predecessor ids
+     */
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    /**
+     * Looks up the id of the vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    private int idOf(Vertex<T> vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return id;
+    }
+}
@@ -30,7 +30,7 @@ public class Edge<T> implements Comparable<Edge<? super T>> {
 
     @Override
     public int compareTo(Edge<? super T> e) {
-        return weight - e.getWeight();
+        return Integer.compare(weight, e.getWeight());
     }
 
     public int getWeight() {
@@ -2,48 +2,269 @@ import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Collections;
+import java.util.RandomAccess;
 
 public class Graph<T> {
 
     private Set<Vertex<T>> vertices;
-    private Set<Edge<T>> edges;
-    private Map<Vertex<T>, List<VertexDistance<T>>> adjList;
-    
+    private Map<Edge<T>, Integer> edges;
+    private Map<Vertex<T>, Neighbors<T>> adjList;
+    private Set<Vertex<T>> readOnlyVertices;
+    private Set<Edge<T>> readOnlyEdges;
+    private Map<Vertex<T>, List<VertexDistance<T>>> readOnlyAdjList;
+    private int expectedDegree;
+
     public Graph(Set<Vertex<T>> vertices, Set<Edge<T>> edges) {
         if (vertices == null || edges == null) {
             throw new IllegalArgumentException("Arguments cannot be null.");
         }
 
-        this.vertices = new HashSet<>(vertices);
-        this.edges = new HashSet<>(edges);
-        adjList = new HashMap<>();
+        init(vertices.size(), edges.size());
         for (Vertex<T> v : vertices) {
-            adjList.put(v, new ArrayList<>());
+            addVertex(v);
         }
 
         for (Edge<T> e : edges) {
-            if (adjList.containsKey(e.getU())) {
-                adjList.get(e.getU()).add(
-                        new VertexDistance<>(e.getV(), e.getWeight()));
-            } else {
-                throw new IllegalArgumentException("Vertex set must contain all"
-                        + "vertices of the graph.");
+            addEdge(e);
+        }
+    }
+
+    /**
+     * Constructs an empty graph whose structures are pre-sized for a bulk
+     * load of the given number of vertices and edges, so the following
+     * addVertex and addEdge calls never rehash or grow a list.
+     * @param expectedVertices the number of vertices that will be added
+     * @param expectedEdges    the number of edges that will be added
+     * @throws IllegalArgumentException if either count is negative
+     */
+    public Graph(int expectedVertices, int expectedEdges) {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative.");
+        }
+        init(expectedVertices, expectedEdges);
+    }
+
+    /**
+     * Allocates the vertex, edge and adjacency structures and the read-only
+     * views handed out by the getters, which are built once here.
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges    the expected number of edges
+     */
+    private void init(int expectedVertices, int expectedEdges) {
+        vertices = new HashSet<>(capacityFor(expectedVertices));
+        edges = new HashMap<>(capacityFor(expectedEdges));
+        adjList = new HashMap<>(capacityFor(expectedVertices));
+        readOnlyVertices = Collections.unmodifiableSet(vertices);
+        readOnlyEdges = Collections.unmodifiableSet(edges.keySet());
+        readOnlyAdjList = Collections.unmodifiableMap(adjList);
+        expectedDegree = expectedVertices == 0 ? 0
+                : (expectedEdges + expectedVertices - 1) / expectedVertices;
+    }
+
+    /**
+     * Returns a hash table capacity that holds count entries without
+     * resizing at the default load factor.
+     * @param count the number of entries
+     * @return the capacity to request
+     */
+    private static int capacityFor(int count) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (count / 0.75f) + 1);
+    }
+
+    /**
+     * Adds a vertex with no edges.
+     * @param vertex the vertex to add
+     * @return true if the vertex was not already in the graph
+     * @throws IllegalArgumentException if vertex is null
+     */
+    public boolean addVertex(Vertex<T> vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        if (!vertices.add(vertex)) {
+            return false;
+        }
+        adjList.put(vertex, new Neighbors<>(expectedDegree));
+        return true;
+    }
+
+    /**
+     * Removes a vertex along with every edge into or out of it. Outgoing
+     * edges are dropped in O(out-degree), but finding the incoming edges
+     * scans every adjacency list, so this takes O(V + E) time.
+     * @param vertex the vertex to remove
+     * @return true if the vertex was in the graph
+     * @throws IllegalArgumentException if vertex is null
+     */
+    public boolean removeVertex(Vertex<T> vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        Neighbors<T> out = adjList.remove(vertex);
+        if (out == null) {
+            return false;
+        }
+        vertices.remove(vertex);
+        for (int i = 0; i < out.size(); i++) {
+            VertexDistance<T> vd = out.get(i);
+            edges.remove(new Edge<>(vertex, vd.getVertex(), vd.getDistance()));
+        }
+        for (Map.Entry<Vertex<T>, Neighbors<T>> entry : adjList.entrySet()) {
+            Neighbors<T> neighbors = entry.getValue();
+            for (int i = neighbors.size() - 1; i >= 0; i--) {
+                VertexDistance<T> vd = neighbors.get(i);
+                if (vd.getVertex().equals(vertex)) {
+                    removeEdge(new Edge<>(entry.getKey(), vertex,
+                            vd.getDistance()));
+                }
             }
         }
+        return true;
+    }
+
+    /**
+     * Adds a directed edge in amortized O(1) time, appending it to the
+     * adjacency list of its source.
+     * @param edge the edge to add
+     * @return true if the edge was not already in the graph
+     * @throws IllegalArgumentException if edge is null, or if either of its
+     *                                  vertices is not in the graph
+     */
+    public boolean addEdge(Edge<T> edge) {
+        if (edge == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        Neighbors<T> neighbors = adjList.get(edge.getU());
+        if (neighbors == null || !vertices.contains(edge.getV())) {
+            throw new IllegalArgumentException("Vertex set must contain all"
+                    + " vertices of the graph.");
+        }
+        if (edges.containsKey(edge)) {
+            return false;
+        }
+        edges.put(edge, neighbors.size());
+        neighbors.append(new VertexDistance<>(edge.getV(), edge.getWeight()));
+        return true;
+    }
+
+    /**
+     * Removes a directed edge in O(1) time. The last entry of the source's
+     * adjacency list is moved into the removed entry's slot, so the order of
+     * the remaining neighbors may change.
+     * @param edge the edge to remove
+     * @return true if the edge was in the graph
+     * @throws IllegalArgumentException if edge is null
+     */
+    public boolean removeEdge(Edge<T> edge) {
+        if (edge == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        Integer slot = edges.remove(edge);
+        if (slot == null) {
+            return false;
+        }
+        Neighbors<T> neighbors = adjList.get(edge.getU());
+        VertexDistance<T> last = neighbors.removeLast();
+        if (slot < neighbors.size()) {
+            neighbors.replace(slot, last);
+            edges.put(new Edge<>(edge.getU(), last.getVertex(),
+                    last.getDistance()), slot);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the directed edge is in the graph.
+     * @param edge the edge to look up
+     * @return true if the edge is in the graph
+     */
+    public boolean containsEdge(Edge<T> edge) {
+        return edges.containsKey(edge);
     }
 
     public Set<Vertex<T>> getVertices() {
-        return vertices;
+        return readOnlyVertices;
     }
 
     public Set<Edge<T>> getEdges() {
-        return edges;
+        return readOnlyEdges;
     }
-    
+
     public Map<Vertex<T>, List<VertexDistance<T>>> getAdjList() {
-        return adjList;
+        return readOnlyAdjList;
+    }
+
+    /**
+     * Adjacency list of one vertex. Its List methods are read-only, so the
+     * lists reached through getAdjList cannot be changed by callers; only
+     * Graph appends and removes entries, keeping the slots recorded in the
+     * edges map in sync without a second, wrapped copy of every list.
+     * @param <T> the generic typing of the data
+     */
+    private static final class Neighbors<T> extends AbstractList<VertexDistance<T>>
+            implements RandomAccess {
+
+        private Object[] data;
+        private int size;
+
+        /**
+         * Constructs an empty list.
+         * @param capacity the initial capacity
+         */
+        Neighbors(int capacity) {
+            data = new Object[Math.max(capacity, 1)];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public VertexDistance<T> get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: " + size);
+            }
+            return (VertexDistance<T>) data[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Adds an entry at the end, doubling the array when it is full.
+         * @param entry the entry to add
+         */
+        void append(VertexDistance<T> entry) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = entry;
+            modCount++;
+        }
+
+        /**
+         * Removes and returns the last entry.
+         * @return the removed entry
+         */
+        VertexDistance<T> removeLast() {
+            VertexDistance<T> last = get(size - 1);
+            data[--size] = null;
+            modCount++;
+            return last;
+        }
+
+        /**
+         * Overwrites the entry at the given slot.
+         * @param slot  the slot to overwrite
+         * @param entry the new entry
+         */
+        void replace(int slot, VertexDistance<T> entry) {
+            data[slot] = entry;
+        }
     }
 
 }
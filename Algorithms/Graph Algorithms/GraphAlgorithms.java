@@ -1,12 +1,17 @@
 import java.util.List;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Queue;
 import java.util.PriorityQueue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
 
 public class GraphAlgorithms {
 
@@ -28,16 +33,18 @@ public class GraphAlgorithms {
             throw new IllegalArgumentException("Start doesn't exist in the graph!");
         }
         List<Vertex<T>> visitList = new ArrayList<>();
-        Queue<Vertex<T>> queue = new LinkedList<>();
+        Set<Vertex<T>> visitSet = new HashSet<>();
+        Queue<Vertex<T>> queue = new ArrayDeque<>();
         Map<Vertex<T>, List<VertexDistance<T>>> adjList = graph.getAdjList();
         visitList.add(start);
+        visitSet.add(start);
         queue.add(start);
         while (!queue.isEmpty()) {
             Vertex<T> vertex = queue.remove();
             List<VertexDistance<T>> vertexDistance = adjList.get(vertex);
             for (VertexDistance<T> v : vertexDistance) {
                 Vertex<T> w = v.getVertex();
-                if (!visitList.contains(w)) {
+                if (visitSet.add(w)) {
                     queue.add(w);
                     visitList.add(w);
                 }
@@ -74,7 +81,9 @@ public class GraphAlgorithms {
 
     /**
      * Helps to perform a depth first search (dfs) on the input graph, starting at
-     * the parameterized starting vertex recursively.
+     * the parameterized starting vertex. An explicit stack of neighbor
+     * iterators stands in for the call stack, so long paths cannot overflow
+     * it, and vertices are visited in the same order as a recursive search.
      * @param start   starting vertex
      * @param adjList adjacent list
      * @param list    list of vertices in visited order
@@ -84,13 +93,20 @@ public class GraphAlgorithms {
     private static <T> void dfsHelper(Vertex<T> start, Map<Vertex<T>,
             List<VertexDistance<T>>> adjList, List<Vertex<T>> list,
                                       Set<Vertex<T>> set) {
-        if (!set.contains(start)) {
-            set.add(start);
-            list.add(start);
-            List<VertexDistance<T>> vertexDistances = adjList.get(start);
-            for (VertexDistance<T> vertexDistance : vertexDistances) {
-                Vertex<T> v = vertexDistance.getVertex();
-                dfsHelper(v, adjList, list, set);
+        Deque<Iterator<VertexDistance<T>>> stack = new ArrayDeque<>();
+        set.add(start);
+        list.add(start);
+        stack.push(adjList.get(start).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<VertexDistance<T>> neighbors = stack.peek();
+            if (neighbors.hasNext()) {
+                Vertex<T> v = neighbors.next().getVertex();
+                if (set.add(v)) {
+                    list.add(v);
+                    stack.push(adjList.get(v).iterator());
+                }
+            } else {
+                stack.pop();
             }
         }
     }
@@ -98,7 +114,8 @@ public class GraphAlgorithms {
     /**
      * Finds the single-source shortest distance between the start vertex and
      * all vertices given a weighted graph (you may assume non-negative edge
-     * weights).
+     * weights). Sums are compared as longs, so distances that would not fit
+     * in an int are never recorded instead of silently overflowing.
      * @param <T>   the generic typing of the data
      * @param start the vertex to begin the Dijkstra's on (source)
      * @param graph the graph we are applying Dijkstra's to
@@ -109,6 +126,27 @@ public class GraphAlgorithms {
      */
     public static <T> Map<Vertex<T>, Integer> dijkstras(Vertex<T> start,
                                                         Graph<T> graph) {
+        return dijkstras(start, graph, null);
+    }
+
+    /**
+     * Finds the single-source shortest distance between the start vertex and
+     * all vertices of the graph like dijkstras, reporting the work done to
+     * the listener when the search finishes. The queue is lazy, so a vertex
+     * can be popped again after it is settled; those stale pops count as
+     * heap pops but not as settled vertices.
+     * @param <T>      the generic typing of the data
+     * @param start    the vertex to begin the Dijkstra's on (source)
+     * @param graph    the graph we are applying Dijkstra's to
+     * @param listener receives the metrics of the call, or null to disable
+     *                 reporting
+     * @return a map of the shortest distances from start to every
+     * other node in the graph
+     * @throws IllegalArgumentException if start or graph is null, or if
+     *                                  start doesn't exist in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> dijkstras(Vertex<T> start,
+            Graph<T> graph, GraphMetricsListener listener) {
         if (start == null || graph == null) {
             throw new IllegalArgumentException("Input is null!");
         }
@@ -128,23 +166,36 @@ public class GraphAlgorithms {
         }
         VertexDistance<T> vertexDistance = new VertexDistance<>(start, 0);
         priorityQueue.add(vertexDistance);
+        long scanned = 0;
+        long relaxed = 0;
+        long pops = 0;
+        int peak = 1;
         while (!priorityQueue.isEmpty() && visit.size() < graph.getVertices().size()) {
+            peak = Math.max(peak, priorityQueue.size());
             VertexDistance<T> vertexDistance1 = priorityQueue.remove();
+            pops++;
             Vertex<T> vertex = vertexDistance1.getVertex();
             List<VertexDistance<T>> vertexDistances = graph.getAdjList().get(vertex);
             visit.add(vertex);
+            scanned += vertexDistances.size();
             for (VertexDistance<T> vertexDistance2 : vertexDistances) {
                 Vertex<T> vertex2 = vertexDistance2.getVertex();
-                int distance1 = vertexDistance1.getDistance();
-                int distance2 = vertexDistance2.getDistance();
+                long distance1 = vertexDistance1.getDistance();
+                long distance2 = vertexDistance2.getDistance();
                 if (map.get(vertex2) > (distance1 + distance2)) {
-                    map.put(vertexDistance2.getVertex(), distance1 + distance2);
+                    map.put(vertexDistance2.getVertex(), (int) (distance1 + distance2));
                     VertexDistance<T> vertexDistance3 = new VertexDistance<>(vertexDistance2.getVertex(),
-                            distance1 + distance2);
+                            (int) (distance1 + distance2));
                     priorityQueue.add(vertexDistance3);
+                    relaxed++;
                 }
             }
         }
+        if (listener != null) {
+            listener.onComplete(new GraphMetrics("dijkstras", visit.size(),
+                    scanned, relaxed, relaxed + 1, pops,
+                    Math.max(peak, priorityQueue.size())));
+        }
         return map;
     }
 
@@ -160,6 +211,25 @@ public class GraphAlgorithms {
      *                                  doesn't exist in the graph.
      */
     public static <T> Set<Edge<T>> prims(Vertex<T> start, Graph<T> graph) {
+        return prims(start, graph, null);
+    }
+
+    /**
+     * Runs Prim's algorithm like prims and reports the work done to the
+     * listener when it finishes. The queue is lazy, so every candidate edge
+     * offered to it counts as both a relaxation and a push, and pops include
+     * the stale edges that lead back into the tree.
+     * @param <T>      the generic typing of the data
+     * @param start    the vertex to begin Prims on
+     * @param graph    the graph we are applying Prims to
+     * @param listener receives the metrics of the call, or null to disable
+     *                 reporting
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if start or graph is null, or if
+     *                                  start doesn't exist in the graph.
+     */
+    public static <T> Set<Edge<T>> prims(Vertex<T> start, Graph<T> graph,
+                                         GraphMetricsListener listener) {
         if (start == null || graph == null) {
             throw new IllegalArgumentException("Input is null!");
         }
@@ -174,24 +244,1258 @@ public class GraphAlgorithms {
             priorityQueue.add(new Edge<>(start, vertexDistance.getVertex(), vertexDistance.getDistance()));
         }
         visitSet.add(start);
+        long scanned = adjList.get(start).size();
+        long pushes = scanned;
+        long pops = 0;
+        int peak = priorityQueue.size();
         while (!priorityQueue.isEmpty() && visitSet.size() < graph.getVertices().size()) {
+            peak = Math.max(peak, priorityQueue.size());
             Edge<T> edge = priorityQueue.remove();
+            pops++;
             if (!visitSet.contains(edge.getV())) {
                 visitSet.add(edge.getV());
                 edgeSet.add(edge);
                 edgeSet.add(new Edge<>(edge.getV(), edge.getU(), edge.getWeight()));
+                scanned += adjList.get(edge.getV()).size();
                 for (VertexDistance<T> vertexDistance1 : adjList.get(edge.getV())) {
                     if (!visitSet.contains(vertexDistance1.getVertex())) {
                         priorityQueue.add(new Edge<>(edge.getV(),
                                 vertexDistance1.getVertex(), vertexDistance1.getDistance()));
+                        pushes++;
                     }
                 }
             }
         }
+        if (listener != null) {
+            listener.onComplete(new GraphMetrics("prims", visitSet.size(),
+                    scanned, pushes, pushes, pops,
+                    Math.max(peak, priorityQueue.size())));
+        }
         if (edgeSet.size() == 2 * (graph.getVertices().size() - 1)) {
             return edgeSet;
         } else {
             return null;
         }
     }
+
+    /**
+     * Performs a breadth first search (bfs) on the input CSR graph, starting
+     * at the parameterized starting vertex. Visited vertices are tracked in
+     * a bitset keyed by vertex id and the frontier is a primitive ring
+     * buffer, so the search runs in O(V + E) time.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the bfs on
+     * @param graph the CSR graph to search through
+     * @return list of vertices in visited order
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    public static <T> List<Vertex<T>> bfs(Vertex<T> start, CSRGraph<T> graph) {
+        int source = startId(start, graph);
+        List<Vertex<T>> visitList = new ArrayList<>();
+        long[] visited = new long[(graph.vertexCount() + 63) >>> 6];
+        IntQueue queue = new IntQueue(64);
+        visited[source >>> 6] |= 1L << source;
+        queue.enqueue(source);
+        while (!queue.isEmpty()) {
+            int u = queue.dequeue();
+            visitList.add(graph.getVertex(u));
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int w = graph.target(e);
+                if ((visited[w >>> 6] & (1L << w)) == 0) {
+                    visited[w >>> 6] |= 1L << w;
+                    queue.enqueue(w);
+                }
+            }
+        }
+        return visitList;
+    }
+
+    /**
+     * Sorts the vertices of a directed graph topologically with Kahn's
+     * algorithm. The graph is converted to CSR form first.
+     * @param <T>   the generic typing of the data
+     * @param graph the directed graph to sort
+     * @return list of vertices where every edge goes from an earlier vertex
+     * to a later one, or null if the graph has a cycle
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> List<Vertex<T>> topologicalSort(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return topologicalSort(new CSRGraph<>(graph));
+    }
+
+    /**
+     * Sorts the vertices of a directed CSR graph topologically with Kahn's
+     * algorithm: vertices with no remaining in-edges are queued, and
+     * removing each one lowers the in-degree of its neighbors. Runs in
+     * O(V + E) time without recursion.
+     * @param <T>   the generic typing of the data
+     * @param graph the directed CSR graph to sort
+     * @return list of vertices where every edge goes from an earlier vertex
+     * to a later one, or null if the graph has a cycle
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> List<Vertex<T>> topologicalSort(CSRGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int n = graph.vertexCount();
+        int[] inDegree = new int[n];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            inDegree[graph.target(e)]++;
+        }
+        IntQueue queue = new IntQueue(64);
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue.enqueue(v);
+            }
+        }
+        List<Vertex<T>> order = new ArrayList<>(n);
+        while (!queue.isEmpty()) {
+            int u = queue.dequeue();
+            order.add(graph.getVertex(u));
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                if (--inDegree[graph.target(e)] == 0) {
+                    queue.enqueue(graph.target(e));
+                }
+            }
+        }
+        return order.size() == n ? order : null;
+    }
+
+    /**
+     * Finds the strongly connected components of a directed graph. The
+     * graph is converted to CSR form first.
+     * @param <T>   the generic typing of the data
+     * @param graph the directed graph to decompose
+     * @return the components and their condensation
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> StronglyConnectedComponents<T> stronglyConnectedComponents(
+            Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return stronglyConnectedComponents(new CSRGraph<>(graph));
+    }
+
+    /**
+     * Finds the strongly connected components of a directed CSR graph with
+     * an iterative Kosaraju's algorithm in O(V + E) time.
+     * @param <T>   the generic typing of the data
+     * @param graph the directed CSR graph to decompose
+     * @return the components and their condensation
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> StronglyConnectedComponents<T> stronglyConnectedComponents(
+            CSRGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return new StronglyConnectedComponents<>(graph);
+    }
+
+    /**
+     * Performs a direction-optimizing parallel breadth first search on the
+     * input CSR graph using the common ForkJoinPool.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the bfs on
+     * @param graph the CSR graph to search through
+     * @return the visit list, levels and parents of the search
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    public static <T> BFSResult<T> parallelBfs(Vertex<T> start,
+                                               CSRGraph<T> graph) {
+        return parallelBfs(start, graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs a direction-optimizing parallel breadth first search on the
+     * input CSR graph. Each level is expanded by the workers of pool, either
+     * top-down from the frontier or bottom-up from the unvisited vertices,
+     * whichever is cheaper for the current frontier size. Vertices are
+     * visited level by level in ascending id order within a level, and the
+     * parent of a vertex may be any of its neighbors on the previous level.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the bfs on
+     * @param graph the CSR graph to search through
+     * @param pool  the pool whose workers expand each level
+     * @return the visit list, levels and parents of the search
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    public static <T> BFSResult<T> parallelBfs(Vertex<T> start,
+                                               CSRGraph<T> graph,
+                                               ForkJoinPool pool) {
+        int source = startId(start, graph);
+        if (pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return ParallelBFS.search(source, graph, pool);
+    }
+
+    /**
+     * Performs a depth first search (dfs) on the input CSR graph, starting at
+     * the parameterized starting vertex. The search is iterative, so it is
+     * safe on arbitrarily long paths.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the dfs on
+     * @param graph the CSR graph to search through
+     * @return list of vertices in visited order
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    public static <T> List<Vertex<T>> dfs(Vertex<T> start, CSRGraph<T> graph) {
+        return dfsOrder(start, graph).getPreOrder();
+    }
+
+    /**
+     * Performs an iterative depth first search (dfs) on the input CSR graph,
+     * starting at the parameterized starting vertex, and records pre-order,
+     * post-order and discovery/finish times of every reached vertex.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the dfs on
+     * @param graph the CSR graph to search through
+     * @return the orders and timestamps of the search
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    public static <T> DFSResult<T> dfsOrder(Vertex<T> start, CSRGraph<T> graph) {
+        int source = startId(start, graph);
+        DFSResult<T> result = new DFSResult<>(graph);
+        result.search(source);
+        return result;
+    }
+
+    /**
+     * Performs an iterative depth first search over every vertex of the CSR
+     * graph, starting a new tree at each unvisited vertex in id order. The
+     * post-order of the resulting forest is the basis of topological sort
+     * and Kosaraju's strongly connected components.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to search through
+     * @return the orders and timestamps of the search forest
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> DFSResult<T> dfsOrder(CSRGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        DFSResult<T> result = new DFSResult<>(graph);
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            result.search(v);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the single-source shortest distance between the start vertex and
+     * all vertices of the CSR graph (you may assume non-negative edge
+     * weights). Vertices sit in an IndexedDaryHeap at most once and have
+     * their keys decreased in place, so the queue never exceeds V entries.
+     * Distances are accumulated as longs and clamped to Integer.MAX_VALUE,
+     * which is also used for unreachable vertices.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the Dijkstra's on (source)
+     * @param graph the CSR graph we are applying Dijkstra's to
+     * @return a map of the shortest distances from start to every
+     * other node in the graph
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> dijkstras(Vertex<T> start,
+                                                        CSRGraph<T> graph) {
+        return dijkstras(start, graph, null);
+    }
+
+    /**
+     * Finds the single-source shortest distance between the start vertex and
+     * all vertices of the CSR graph like dijkstras, reporting the work done
+     * to the listener when the search finishes.
+     * @param <T>      the generic typing of the data
+     * @param start    the vertex to begin the Dijkstra's on (source)
+     * @param graph    the CSR graph we are applying Dijkstra's to
+     * @param listener receives the metrics of the call, or null to disable
+     *                 reporting
+     * @return a map of the shortest distances from start to every
+     * other node in the graph
+     * @throws IllegalArgumentException if start or graph is null, or if
+     *                                  start doesn't exist in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> dijkstras(Vertex<T> start,
+            CSRGraph<T> graph, GraphMetricsListener listener) {
+        return toDistanceMap(shortestPaths(start, graph, listener)
+                .getDistances(), graph);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the start vertex and returns the whole
+     * shortest path tree, with long distances and int predecessors indexed
+     * by vertex id (you may assume non-negative edge weights). The graph is
+     * converted to CSR form first.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the Dijkstra's on (source)
+     * @param graph the graph we are applying Dijkstra's to
+     * @return the distances and routes from start to every vertex
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> ShortestPaths<T> shortestPaths(Vertex<T> start,
+                                                     Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return shortestPaths(start, new CSRGraph<>(graph));
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the start vertex and returns the whole
+     * shortest path tree, with long distances and int predecessors indexed
+     * by vertex id (you may assume non-negative edge weights). Int weights
+     * summed over at most V - 1 edges always fit in a long, so distances
+     * cannot overflow.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the Dijkstra's on (source)
+     * @param graph the CSR graph we are applying Dijkstra's to
+     * @return the distances and routes from start to every vertex
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> ShortestPaths<T> shortestPaths(Vertex<T> start,
+                                                     CSRGraph<T> graph) {
+        return shortestPaths(start, graph, null);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm like shortestPaths and reports the vertices
+     * settled, edges scanned, relaxations, heap pushes and pops, and peak
+     * heap size to the listener when the search finishes. The counters are
+     * local variables, so a null listener costs no allocation.
+     * @param <T>      the generic typing of the data
+     * @param start    the vertex to begin the Dijkstra's on (source)
+     * @param graph    the CSR graph we are applying Dijkstra's to
+     * @param listener receives the metrics of the call, or null to disable
+     *                 reporting
+     * @return the distances and routes from start to every vertex
+     * @throws IllegalArgumentException if start or graph is null, or if
+     *                                  start doesn't exist in the graph.
+     */
+    public static <T> ShortestPaths<T> shortestPaths(Vertex<T> start,
+            CSRGraph<T> graph, GraphMetricsListener listener) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, 0);
+        long settled = 0;
+        long scanned = 0;
+        long relaxed = 0;
+        long pushes = 1;
+        int peak = 1;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            settled++;
+            int end = graph.edgeEnd(u);
+            scanned += end - graph.edgeStart(u);
+            for (int e = graph.edgeStart(u); e < end; e++) {
+                int v = graph.target(e);
+                long candidate = dist[u] + graph.weight(e);
+                if (candidate < dist[v]) {
+                    if (dist[v] == ShortestPaths.UNREACHABLE) {
+                        pushes++;
+                    }
+                    relaxed++;
+                    dist[v] = candidate;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, candidate);
+                    peak = Math.max(peak, heap.size());
+                }
+            }
+        }
+        if (listener != null) {
+            listener.onComplete(new GraphMetrics("dijkstras", settled, scanned,
+                    relaxed, pushes, settled, peak));
+        }
+        return new ShortestPaths<>(graph, source, dist, pred);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from every source in the batch on the common
+     * ForkJoinPool (you may assume non-negative edge weights).
+     * @param <T>     the generic typing of the data
+     * @param sources the vertices to search from
+     * @param graph   the CSR graph to search through
+     * @return one row of distances per source, in the order given
+     * @throws IllegalArgumentException if any input is null, or if a source
+     *                                  doesn't exist in the graph
+     */
+    public static <T> DistanceMatrix<T> batchDijkstras(List<Vertex<T>> sources,
+                                                       CSRGraph<T> graph) {
+        return batchDijkstras(sources, graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from every source in the batch, spreading
+     * the sources over the workers of pool (you may assume non-negative edge
+     * weights). The sources are split into about one contiguous chunk per
+     * worker; each chunk allocates one distance array and heap and reuses
+     * them for every source in it, resetting only what the previous search
+     * touched. Every source still gets its own O(V) row of results.
+     * @param <T>     the generic typing of the data
+     * @param sources the vertices to search from
+     * @param graph   the CSR graph to search through
+     * @param pool    the pool whose workers run the searches
+     * @return one row of distances per source, in the order given
+     * @throws IllegalArgumentException if any input is null, or if a source
+     *                                  doesn't exist in the graph
+     */
+    public static <T> DistanceMatrix<T> batchDijkstras(List<Vertex<T>> sources,
+                                                       CSRGraph<T> graph,
+                                                       ForkJoinPool pool) {
+        if (sources == null || graph == null || pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int[] ids = new int[sources.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = startId(sources.get(i), graph);
+        }
+        return new DistanceMatrix<>(graph, ids,
+                DijkstraWorkspace.runAll(ids, graph, pool));
+    }
+
+    /**
+     * Finds the single-source shortest distance between the start vertex and
+     * all vertices of the CSR graph with parallel delta-stepping on the
+     * common ForkJoinPool, using a bucket width derived from the maximum
+     * weight and average degree (you may assume non-negative edge weights).
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the search on (source)
+     * @param graph the CSR graph to search through
+     * @return a map of the shortest distances from start to every
+     * other node in the graph, the same as dijkstras
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> deltaStepping(Vertex<T> start,
+                                                            CSRGraph<T> graph) {
+        int source = startId(start, graph);
+        return toDistanceMap(DeltaStepping.distances(source, graph,
+                DeltaStepping.defaultDelta(graph), ForkJoinPool.commonPool()),
+                graph);
+    }
+
+    /**
+     * Finds the single-source shortest distance between the start vertex and
+     * all vertices of the CSR graph with parallel delta-stepping (you may
+     * assume non-negative edge weights). A small delta does little wasted
+     * work but exposes less parallelism per bucket; a large delta does the
+     * opposite, approaching Bellman-Ford.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the search on (source)
+     * @param graph the CSR graph to search through
+     * @param delta the width of each distance bucket
+     * @param pool  the pool whose workers relax edges
+     * @return a map of the shortest distances from start to every
+     * other node in the graph, the same as dijkstras
+     * @throws IllegalArgumentException if any input is null, if start
+     *                                  doesn't exist in the graph, or if
+     *                                  delta is not positive
+     */
+    public static <T> Map<Vertex<T>, Integer> deltaStepping(Vertex<T> start,
+                                                            CSRGraph<T> graph,
+                                                            long delta,
+                                                            ForkJoinPool pool) {
+        int source = startId(start, graph);
+        if (pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta must be positive!");
+        }
+        return toDistanceMap(DeltaStepping.distances(source, graph, delta, pool),
+                graph);
+    }
+
+    /**
+     * Finds a shortest path from start to target with bidirectional
+     * Dijkstra: one search runs forward from start, one runs backward from
+     * target over the transposed graph, and the search stops as soon as the
+     * two frontiers prove no shorter meeting point exists (you may assume
+     * non-negative edge weights).
+     * @param <T>    the generic typing of the data
+     * @param start  the vertex the path starts at
+     * @param target the vertex the path ends at
+     * @param graph  the CSR graph to search through
+     * @return the shortest path from start to target
+     * @throws IllegalArgumentException if any input is null, or if start or
+     *                                  target doesn't exist in the graph
+     */
+    public static <T> GraphPath<T> bidirectionalDijkstras(Vertex<T> start,
+                                                          Vertex<T> target,
+                                                          CSRGraph<T> graph) {
+        int source = startId(start, graph);
+        int sink = targetId(target, graph);
+        int n = graph.vertexCount();
+        CSRGraph<T> reverse = graph.transpose();
+        long[] forward = new long[n];
+        long[] backward = new long[n];
+        int[] forwardPred = new int[n];
+        int[] backwardPred = new int[n];
+        Arrays.fill(forward, ShortestPaths.UNREACHABLE);
+        Arrays.fill(backward, ShortestPaths.UNREACHABLE);
+        Arrays.fill(forwardPred, -1);
+        Arrays.fill(backwardPred, -1);
+        IndexedDaryHeap forwardHeap = new IndexedDaryHeap(n);
+        IndexedDaryHeap backwardHeap = new IndexedDaryHeap(n);
+        forward[source] = 0;
+        backward[sink] = 0;
+        forwardHeap.insert(source, 0);
+        backwardHeap.insert(sink, 0);
+        long best = source == sink ? 0 : ShortestPaths.UNREACHABLE;
+        int meet = source == sink ? source : -1;
+        int settled = 0;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.minKey() + backwardHeap.minKey() < best) {
+            boolean goForward = forwardHeap.minKey() <= backwardHeap.minKey();
+            CSRGraph<T> side = goForward ? graph : reverse;
+            IndexedDaryHeap heap = goForward ? forwardHeap : backwardHeap;
+            long[] dist = goForward ? forward : backward;
+            long[] other = goForward ? backward : forward;
+            int[] pred = goForward ? forwardPred : backwardPred;
+            int u = heap.removeMin();
+            settled++;
+            for (int e = side.edgeStart(u); e < side.edgeEnd(u); e++) {
+                int v = side.target(e);
+                long candidate = dist[u] + side.weight(e);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, candidate);
+                }
+                if (other[v] != ShortestPaths.UNREACHABLE
+                        && dist[v] + other[v] < best) {
+                    best = dist[v] + other[v];
+                    meet = v;
+                }
+            }
+        }
+        if (meet < 0) {
+            return new GraphPath<>(Collections.<Vertex<T>>emptyList(),
+                    ShortestPaths.UNREACHABLE, settled);
+        }
+        List<Vertex<T>> path = new ArrayList<>();
+        for (int v = meet; v >= 0; v = forwardPred[v]) {
+            path.add(graph.getVertex(v));
+        }
+        Collections.reverse(path);
+        for (int v = backwardPred[meet]; v >= 0; v = backwardPred[v]) {
+            path.add(graph.getVertex(v));
+        }
+        return new GraphPath<>(path, best, settled);
+    }
+
+    /**
+     * Finds a shortest path from start to target with A* search, ordering
+     * the queue by distance so far plus the heuristic's estimate of the
+     * remaining distance, and stopping as soon as target is settled (you may
+     * assume non-negative edge weights and a consistent heuristic).
+     * @param <T>       the generic typing of the data
+     * @param start     the vertex the path starts at
+     * @param target    the vertex the path ends at
+     * @param graph     the CSR graph to search through
+     * @param heuristic lower bound on the distance to target
+     * @return the shortest path from start to target
+     * @throws IllegalArgumentException if any input is null, or if start or
+     *                                  target doesn't exist in the graph
+     */
+    public static <T> GraphPath<T> aStar(Vertex<T> start, Vertex<T> target,
+                                         CSRGraph<T> graph, Heuristic<T> heuristic) {
+        int source = startId(start, graph);
+        int sink = targetId(target, graph);
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int n = graph.vertexCount();
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        dist[source] = 0;
+        heap.insert(source, heuristic.estimate(start, target));
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            settled++;
+            if (u == sink) {
+                List<Vertex<T>> path = new ArrayList<>();
+                for (int v = sink; v >= 0; v = pred[v]) {
+                    path.add(graph.getVertex(v));
+                }
+                Collections.reverse(path);
+                return new GraphPath<>(path, dist[sink], settled);
+            }
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                long candidate = dist[u] + graph.weight(e);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, candidate
+                            + heuristic.estimate(graph.getVertex(v), target));
+                }
+            }
+        }
+        return new GraphPath<>(Collections.<Vertex<T>>emptyList(),
+                ShortestPaths.UNREACHABLE, settled);
+    }
+
+    /**
+     * Runs Prim's algorithm on the given CSR graph and returns the Minimum
+     * Spanning Tree (MST) in the form of a set of Edges, with each tree edge
+     * present in both directions. If the graph is disconnected and therefore
+     * no valid MST exists, return null.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin Prims on
+     * @param graph the CSR graph we are applying Prims to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> Set<Edge<T>> prims(Vertex<T> start, CSRGraph<T> graph) {
+        return prims(start, graph, null);
+    }
+
+    /**
+     * Runs Prim's algorithm like prims and reports the work done to the
+     * listener when it finishes. Every vertex outside the tree sits in an
+     * indexed heap keyed by its cheapest connecting weight, so the heap never
+     * holds more than V entries; a relaxation is an edge that lowered that
+     * weight, and a push is a vertex entering the heap.
+     * @param <T>      the generic typing of the data
+     * @param start    the vertex to begin Prims on
+     * @param graph    the CSR graph we are applying Prims to
+     * @param listener receives the metrics of the call, or null to disable
+     *                 reporting
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if start or graph is null, or if
+     *                                  start doesn't exist in the graph.
+     */
+    public static <T> Set<Edge<T>> prims(Vertex<T> start, CSRGraph<T> graph,
+                                         GraphMetricsListener listener) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        boolean[] inTree = new boolean[n];
+        int[] via = new int[n];
+        int[] best = new int[n];
+        Set<Edge<T>> edgeSet = new HashSet<>();
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, 0);
+        int treeSize = 0;
+        long scanned = 0;
+        long relaxed = 0;
+        long pushes = 1;
+        int peak = 1;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            inTree[u] = true;
+            if (treeSize++ > 0) {
+                addUndirected(edgeSet, via[u], u, best[u], graph);
+            }
+            int end = graph.edgeEnd(u);
+            scanned += end - graph.edgeStart(u);
+            for (int e = graph.edgeStart(u); e < end; e++) {
+                int v = graph.target(e);
+                if (inTree[v]) {
+                    continue;
+                }
+                boolean queued = heap.contains(v);
+                if (heap.insertOrDecrease(v, graph.weight(e))) {
+                    relaxed++;
+                    if (!queued) {
+                        pushes++;
+                        peak = Math.max(peak, heap.size());
+                    }
+                    via[v] = u;
+                    best[v] = graph.weight(e);
+                }
+            }
+        }
+        if (listener != null) {
+            listener.onComplete(new GraphMetrics("prims", treeSize, scanned,
+                    relaxed, pushes, treeSize, peak));
+        }
+        return treeSize == n ? edgeSet : null;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on a graph with long weights and returns
+     * the whole shortest path tree (you may assume non-negative edge
+     * weights). Distances saturate instead of wrapping, so a path whose
+     * length does not fit in a long is reported as UNREACHABLE.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the Dijkstra's on (source)
+     * @param graph the long weighted CSR graph we are applying Dijkstra's to
+     * @return the distances and routes from start to every vertex
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> ShortestPaths<T> dijkstras(Vertex<T> start,
+                                                 LongCSRGraph<T> graph) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                long candidate = dist[u] + graph.weight(e);
+                if (candidate < dist[u]) {
+                    candidate = ShortestPaths.UNREACHABLE;
+                }
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        return new ShortestPaths<>(graph, source, dist, pred);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on a graph with double weights and returns
+     * the whole shortest path tree (you may assume non-negative edge
+     * weights). The heap is keyed by the bit pattern of each distance,
+     * which orders non-negative doubles the same way as their values.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin the Dijkstra's on (source)
+     * @param graph the double weighted CSR graph we are applying Dijkstra's
+     *              to
+     * @return the distances and routes from start to every vertex
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> DoubleShortestPaths<T> dijkstras(Vertex<T> start,
+                                                       DoubleCSRGraph<T> graph) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, DoubleShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, orderedBits(0));
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                double candidate = dist[u] + graph.weight(e);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, orderedBits(candidate));
+                }
+            }
+        }
+        return new DoubleShortestPaths<>(graph, source, dist, pred);
+    }
+
+    /**
+     * Runs Prim's algorithm on a graph with long weights and returns the
+     * Minimum Spanning Tree (MST) in the form of a set of LongEdges, with
+     * each tree edge present in both directions. Every vertex outside the
+     * tree sits in an indexed heap keyed by its cheapest connecting weight,
+     * so the heap never holds more than V entries. If the graph is
+     * disconnected and therefore no valid MST exists, return null.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin Prims on
+     * @param graph the long weighted CSR graph we are applying Prims to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> Set<LongEdge<T>> prims(Vertex<T> start,
+                                             LongCSRGraph<T> graph) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        boolean[] inTree = new boolean[n];
+        int[] parent = new int[n];
+        long[] cost = new long[n];
+        Set<LongEdge<T>> edgeSet = new HashSet<>();
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, 0);
+        int treeSize = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            inTree[u] = true;
+            if (treeSize++ > 0) {
+                Vertex<T> a = graph.getVertex(parent[u]);
+                Vertex<T> b = graph.getVertex(u);
+                edgeSet.add(new LongEdge<>(a, b, cost[u]));
+                edgeSet.add(new LongEdge<>(b, a, cost[u]));
+            }
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                long w = graph.weight(e);
+                if (!inTree[v] && heap.insertOrDecrease(v, w)) {
+                    parent[v] = u;
+                    cost[v] = w;
+                }
+            }
+        }
+        return treeSize == n ? edgeSet : null;
+    }
+
+    /**
+     * Runs Prim's algorithm on a graph with double weights and returns the
+     * Minimum Spanning Tree (MST) in the form of a set of DoubleEdges, with
+     * each tree edge present in both directions. Weights may be negative;
+     * the heap is keyed by a bit pattern that orders every double like its
+     * value. If the graph is disconnected and therefore no valid MST
+     * exists, return null.
+     * @param <T>   the generic typing of the data
+     * @param start the vertex to begin Prims on
+     * @param graph the double weighted CSR graph we are applying Prims to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph.
+     */
+    public static <T> Set<DoubleEdge<T>> prims(Vertex<T> start,
+                                               DoubleCSRGraph<T> graph) {
+        int source = startId(start, graph);
+        int n = graph.vertexCount();
+        boolean[] inTree = new boolean[n];
+        int[] parent = new int[n];
+        double[] cost = new double[n];
+        Set<DoubleEdge<T>> edgeSet = new HashSet<>();
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        heap.insert(source, orderedBits(0));
+        int treeSize = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            inTree[u] = true;
+            if (treeSize++ > 0) {
+                Vertex<T> a = graph.getVertex(parent[u]);
+                Vertex<T> b = graph.getVertex(u);
+                edgeSet.add(new DoubleEdge<>(a, b, cost[u]));
+                edgeSet.add(new DoubleEdge<>(b, a, cost[u]));
+            }
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                double w = graph.weight(e);
+                if (!inTree[v] && heap.insertOrDecrease(v, orderedBits(w))) {
+                    parent[v] = u;
+                    cost[v] = w;
+                }
+            }
+        }
+        return treeSize == n ? edgeSet : null;
+    }
+
+    /**
+     * Runs Kruskal's algorithm on the given graph and returns the Minimum
+     * Spanning Tree (MST) in the form of a set of Edges, with each tree edge
+     * present in both directions like prims. If the graph is disconnected
+     * and therefore no valid MST exists, return null. The graph is
+     * converted to CSR form first.
+     * @param <T>   the generic typing of the data
+     * @param graph the graph we are applying Kruskals to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> Set<Edge<T>> kruskals(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return kruskals(new CSRGraph<>(graph));
+    }
+
+    /**
+     * Runs Kruskal's algorithm on the given CSR graph and returns the
+     * Minimum Spanning Tree (MST) in the form of a set of Edges, with each
+     * tree edge present in both directions like prims. If the graph is
+     * disconnected and therefore no valid MST exists, return null. Edges are
+     * packed as (weight, position) longs and sorted with a parallel sort,
+     * then joined with a DisjointSet.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph we are applying Kruskals to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> Set<Edge<T>> kruskals(CSRGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int n = graph.vertexCount();
+        int[] sources = new int[graph.edgeCount()];
+        long[] keys = new long[graph.edgeCount()];
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                sources[e] = u;
+                if (graph.target(e) != u) {
+                    keys[count++] = ((long) graph.weight(e) << 32) | e;
+                }
+            }
+        }
+        Arrays.parallelSort(keys, 0, count);
+        DisjointSet components = new DisjointSet(n);
+        Set<Edge<T>> edgeSet = new HashSet<>();
+        int treeEdges = 0;
+        for (int i = 0; i < count && treeEdges < n - 1; i++) {
+            int e = (int) keys[i];
+            if (components.union(sources[e], graph.target(e))) {
+                addUndirected(edgeSet, sources[e], graph.target(e),
+                        graph.weight(e), graph);
+                treeEdges++;
+            }
+        }
+        return treeEdges == Math.max(0, n - 1) ? edgeSet : null;
+    }
+
+    /**
+     * Runs Boruvka's algorithm on the given CSR graph using the common
+     * ForkJoinPool and returns the Minimum Spanning Tree (MST) in the form
+     * of a set of Edges, with each tree edge present in both directions like
+     * prims. If the graph is disconnected and therefore no valid MST exists,
+     * return null.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph we are applying Boruvkas to
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> Set<Edge<T>> boruvkas(CSRGraph<T> graph) {
+        return boruvkas(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs Boruvka's algorithm on the given CSR graph and returns the
+     * Minimum Spanning Tree (MST) in the form of a set of Edges, with each
+     * tree edge present in both directions like prims. If the graph is
+     * disconnected and therefore no valid MST exists, return null. The
+     * cheapest edge out of every component is found by the workers of pool
+     * in parallel each round.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph we are applying Boruvkas to
+     * @param pool  the pool whose workers scan edges
+     * @return the MST of the graph or null if there is no valid MST
+     * @throws IllegalArgumentException if any input is null
+     */
+    public static <T> Set<Edge<T>> boruvkas(CSRGraph<T> graph,
+                                            ForkJoinPool pool) {
+        if (graph == null || pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        IntList tree = ParallelBoruvka.forest(graph, pool);
+        if (tree.size() != Math.max(0, graph.vertexCount() - 1)) {
+            return null;
+        }
+        Set<Edge<T>> edgeSet = new HashSet<>();
+        for (int i = 0; i < tree.size(); i++) {
+            int e = tree.get(i);
+            int u = sourceOf(e, graph);
+            addUndirected(edgeSet, u, graph.target(e), graph.weight(e), graph);
+        }
+        return edgeSet;
+    }
+
+    /**
+     * Labels the connected components of the CSR graph on the common
+     * ForkJoinPool, treating every edge as undirected.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to label
+     * @return the component of every vertex, indexed by vertex id and
+     * numbered densely in order of each component's lowest vertex id
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> int[] connectedComponents(CSRGraph<T> graph) {
+        return connectedComponents(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Labels the connected components of the CSR graph, treating every edge
+     * as undirected. The workers of pool stream the edges into a lock-free
+     * ConcurrentDisjointSet, so the whole labelling runs in near-linear
+     * time.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to label
+     * @param pool  the pool whose workers add edges
+     * @return the component of every vertex, indexed by vertex id and
+     * numbered densely in order of each component's lowest vertex id
+     * @throws IllegalArgumentException if any input is null
+     */
+    public static <T> int[] connectedComponents(CSRGraph<T> graph,
+                                                ForkJoinPool pool) {
+        if (graph == null || pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return ConnectedComponents.unionFind(graph, pool);
+    }
+
+    /**
+     * Labels the connected components of the CSR graph with parallel
+     * min-label propagation, treating every edge as undirected. Needs one
+     * round per unit of graph diameter, so it suits low-diameter graphs; the
+     * labels are identical to connectedComponents.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to label
+     * @param pool  the pool whose workers run each round
+     * @return the component of every vertex, indexed by vertex id and
+     * numbered densely in order of each component's lowest vertex id
+     * @throws IllegalArgumentException if any input is null
+     */
+    public static <T> int[] labelPropagation(CSRGraph<T> graph,
+                                             ForkJoinPool pool) {
+        if (graph == null || pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        return ConnectedComponents.labelPropagation(graph, pool);
+    }
+
+    /**
+     * Ranks the vertices of the CSR graph with PageRank on the common
+     * ForkJoinPool, using a damping factor of 0.85 and stopping once the
+     * ranks change by less than 1e-6 or after 100 iterations.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to rank
+     * @return the rank of every vertex
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <T> PageRank<T> pageRank(CSRGraph<T> graph) {
+        return pageRank(graph, 0.85, 1e-6, 100, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ranks the vertices of the CSR graph with PageRank. Every iteration
+     * pulls rank along in-edges in parallel on the workers of pool; rank
+     * held by vertices with no out-edges is spread evenly over the graph.
+     * @param <T>           the generic typing of the data
+     * @param graph         the CSR graph to rank
+     * @param damping       probability of following an edge, in [0, 1)
+     * @param tolerance     L1 change of the ranks at which to stop
+     * @param maxIterations the most iterations to run
+     * @param pool          the pool whose workers run each iteration
+     * @return the rank of every vertex
+     * @throws IllegalArgumentException if any input is null, or if damping,
+     *                                  tolerance or maxIterations is out of
+     *                                  range
+     */
+    public static <T> PageRank<T> pageRank(CSRGraph<T> graph, double damping,
+                                           double tolerance, int maxIterations,
+                                           ForkJoinPool pool) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        double[] teleport = new double[graph.vertexCount()];
+        Arrays.fill(teleport, 1.0 / graph.vertexCount());
+        return runPageRank(graph, teleport, damping, tolerance, maxIterations,
+                pool);
+    }
+
+    /**
+     * Ranks the vertices of the CSR graph with personalized PageRank on the
+     * common ForkJoinPool, using a damping factor of 0.85 and stopping once
+     * the ranks change by less than 1e-6 or after 100 iterations.
+     * @param <T>   the generic typing of the data
+     * @param graph the CSR graph to rank
+     * @param seeds the vertices every jump returns to
+     * @return the rank of every vertex relative to the seeds
+     * @throws IllegalArgumentException if any input is null, if seeds is
+     *                                  empty, or if a seed doesn't exist in
+     *                                  the graph
+     */
+    public static <T> PageRank<T> personalizedPageRank(CSRGraph<T> graph,
+                                                       Set<Vertex<T>> seeds) {
+        return personalizedPageRank(graph, seeds, 0.85, 1e-6, 100,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ranks the vertices of the CSR graph with personalized PageRank, where
+     * every random jump, and all rank held by vertices with no out-edges,
+     * goes back to the seed vertices instead of the whole graph.
+     * @param <T>           the generic typing of the data
+     * @param graph         the CSR graph to rank
+     * @param seeds         the vertices every jump returns to
+     * @param damping       probability of following an edge, in [0, 1)
+     * @param tolerance     L1 change of the ranks at which to stop
+     * @param maxIterations the most iterations to run
+     * @param pool          the pool whose workers run each iteration
+     * @return the rank of every vertex relative to the seeds
+     * @throws IllegalArgumentException if any input is null, if seeds is
+     *                                  empty, if a seed doesn't exist in the
+     *                                  graph, or if damping, tolerance or
+     *                                  maxIterations is out of range
+     */
+    public static <T> PageRank<T> personalizedPageRank(CSRGraph<T> graph,
+                                                       Set<Vertex<T>> seeds,
+                                                       double damping,
+                                                       double tolerance,
+                                                       int maxIterations,
+                                                       ForkJoinPool pool) {
+        if (graph == null || seeds == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        if (seeds.isEmpty()) {
+            throw new IllegalArgumentException("Seeds cannot be empty!");
+        }
+        double[] teleport = new double[graph.vertexCount()];
+        for (Vertex<T> seed : seeds) {
+            teleport[startId(seed, graph)] = 1.0 / seeds.size();
+        }
+        return runPageRank(graph, teleport, damping, tolerance, maxIterations,
+                pool);
+    }
+
+    /**
+     * Validates the PageRank parameters and runs the iteration.
+     * @param graph         the CSR graph to rank
+     * @param teleport      probability of jumping to every vertex
+     * @param damping       probability of following an edge
+     * @param tolerance     L1 change of the ranks at which to stop
+     * @param maxIterations the most iterations to run
+     * @param pool          the pool whose workers run each iteration
+     * @param <T>           generic typing of the data
+     * @return the rank of every vertex
+     * @throws IllegalArgumentException if pool is null, or if damping,
+     *                                  tolerance or maxIterations is out of
+     *                                  range
+     */
+    private static <T> PageRank<T> runPageRank(CSRGraph<T> graph,
+                                               double[] teleport,
+                                               double damping, double tolerance,
+                                               int maxIterations,
+                                               ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        if (!(damping >= 0 && damping < 1) || !(tolerance > 0)
+                || maxIterations < 1) {
+            throw new IllegalArgumentException("PageRank parameters are out of range!");
+        }
+        return new PageRank<>(graph, teleport, damping, tolerance,
+                maxIterations, pool);
+    }
+
+    /**
+     * Validates the inputs of a CSR search and returns the id of start.
+     * @param start the vertex to begin the search on
+     * @param graph the CSR graph to search through
+     * @param <T>   generic typing of the data
+     * @return the dense id of start
+     * @throws IllegalArgumentException if any input is null, or if start
+     *                                  doesn't exist in the graph
+     */
+    private static <T> int startId(Vertex<T> start, VertexIndex<T> graph) {
+        if (start == null || graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int id = graph.indexOf(start);
+        if (id < 0) {
+            throw new IllegalArgumentException("Start doesn't exist in the graph!");
+        }
+        return id;
+    }
+
+    /**
+     * Validates the target of a point-to-point search and returns its id.
+     * @param target the vertex the search ends at
+     * @param graph  the CSR graph to search through
+     * @param <T>    generic typing of the data
+     * @return the dense id of target
+     * @throws IllegalArgumentException if target is null, or if it doesn't
+     *                                  exist in the graph
+     */
+    private static <T> int targetId(Vertex<T> target, CSRGraph<T> graph) {
+        if (target == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int id = graph.indexOf(target);
+        if (id < 0) {
+            throw new IllegalArgumentException("Target doesn't exist in the graph!");
+        }
+        return id;
+    }
+
+    /**
+     * Maps a double to a long whose signed order matches Double.compare, so
+     * double priorities can key the long based IndexedDaryHeap. Negative
+     * values have their magnitude bits flipped to reverse their order.
+     * @param value the double to convert
+     * @return the ordered bit pattern of value
+     */
+    private static long orderedBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Converts a primitive distance array into the map returned by
+     * dijkstras, clamping to Integer.MAX_VALUE.
+     * @param dist  distances indexed by vertex id
+     * @param graph the CSR graph the distances belong to
+     * @param <T>   generic typing of the data
+     * @return a map of the distances
+     */
+    private static <T> Map<Vertex<T>, Integer> toDistanceMap(long[] dist,
+                                                             CSRGraph<T> graph) {
+        Map<Vertex<T>, Integer> map = new HashMap<>(2 * dist.length);
+        for (int v = 0; v < dist.length; v++) {
+            map.put(graph.getVertex(v), (int) Math.min(dist[v], Integer.MAX_VALUE));
+        }
+        return map;
+    }
+
+    /**
+     * Finds the source vertex of an edge position by binary search over the
+     * edge offsets.
+     * @param e     the edge position
+     * @param graph the CSR graph the edge belongs to
+     * @param <T>   generic typing of the data
+     * @return the id of the vertex the edge leaves
+     */
+    private static <T> int sourceOf(int e, CSRGraph<T> graph) {
+        int lo = 0;
+        int hi = graph.vertexCount() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (graph.edgeStart(mid) <= e) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Adds the undirected edge between u and v to the set in both directions.
+     * @param edgeSet the set to add to
+     * @param u       id of one endpoint
+     * @param v       id of the other endpoint
+     * @param weight  weight of the edge
+     * @param graph   the CSR graph the ids belong to
+     * @param <T>     generic typing of the data
+     */
+    private static <T> void addUndirected(Set<Edge<T>> edgeSet, int u, int v,
+                                          int weight, CSRGraph<T> graph) {
+        edgeSet.add(new Edge<>(graph.getVertex(u), graph.getVertex(v), weight));
+        edgeSet.add(new Edge<>(graph.getVertex(v), graph.getVertex(u), weight));
+    }
 }
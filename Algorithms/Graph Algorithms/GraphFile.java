@@ -0,0 +1,270 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compact binary file format for CSR graphs. A file is laid out as
+ * <pre>
+ *   header       int magic, int version, int vertexCount, int edgeCount
+ *   vertex table long[vertexCount]     encoded data of every vertex by id
+ *   offsets      int[vertexCount + 1]
+ *   targets      int[edgeCount]
+ *   weights      int[edgeCount]
+ * </pre>
+ * in little-endian order. Opening a file maps the offsets, targets and
+ * weights sections with FileChannel.map, so the returned CSRGraph runs the
+ * GraphAlgorithms traversals directly on off-heap pages the operating
+ * system loads on demand. The vertex table is not: every vertex is decoded
+ * into a heap Vertex and indexed by id, so opening costs O(V) time and heap
+ * even though the O(E) edge sections are left on disk.
+ * <p>
+ * By default only the header and the section bounds are checked. Opening
+ * with full validation also walks every offset and target, an O(V + E)
+ * pass that reads the whole file, so a corrupt file is rejected while
+ * opening instead of failing deep inside an algorithm. Each section must
+ * be smaller than 2 GB.
+ */
+public final class GraphFile {
+
+    private static final int MAGIC = 0x43535247;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Prevents instantiation.
+     */
+    private GraphFile() {
+    }
+
+    /**
+     * Writes the graph to a file in CSR form.
+     * @param <T>     the generic typing of the data
+     * @param graph   the graph to write
+     * @param file    the file to create or overwrite
+     * @param encoder converts the data of every vertex into a long
+     * @throws IllegalArgumentException if any input is null
+     * @throws IOException              if the file cannot be written
+     */
+    public static <T> void write(Graph<T> graph, Path file,
+                                 ToLongFunction<T> encoder) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        write(new CSRGraph<>(graph), file, encoder);
+    }
+
+    /**
+     * Writes the CSR graph to a file.
+     * @param <T>     the generic typing of the data
+     * @param graph   the CSR graph to write
+     * @param file    the file to create or overwrite
+     * @param encoder converts the data of every vertex into a long
+     * @throws IllegalArgumentException if any input is null
+     * @throws IOException              if the file cannot be written
+     */
+    public static <T> void write(CSRGraph<T> graph, Path file,
+                                 ToLongFunction<T> encoder) throws IOException {
+        if (graph == null || file == null || encoder == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m);
+            for (int v = 0; v < n; v++) {
+                ensure(channel, buffer, Long.BYTES);
+                buffer.putLong(encoder.applyAsLong(graph.getVertex(v).getData()));
+            }
+            for (int v = 0; v <= n; v++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(v < n ? graph.edgeStart(v) : m);
+            }
+            for (int e = 0; e < m; e++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.target(e));
+            }
+            for (int e = 0; e < m; e++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.weight(e));
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Opens a graph file, mapping its edge sections into memory. Only the
+     * header, the section bounds and the first and last offsets are
+     * checked; the rest of the offsets and targets are trusted.
+     * @param <T>     the generic typing of the data
+     * @param file    the file to open
+     * @param decoder converts the long stored for every vertex back into its
+     *                data
+     * @return a CSR graph backed by the mapped file
+     * @throws IllegalArgumentException if any input is null
+     * @throws IOException              if the file cannot be read, is not
+     *                                  a graph file, or a section is
+     *                                  truncated or 2 GB or larger
+     */
+    public static <T> CSRGraph<T> open(Path file, LongFunction<T> decoder)
+            throws IOException {
+        return open(file, decoder, false);
+    }
+
+    /**
+     * Opens a graph file, mapping its edge sections into memory.
+     * @param <T>      the generic typing of the data
+     * @param file     the file to open
+     * @param decoder  converts the long stored for every vertex back into
+     *                 its data
+     * @param validate whether to check every offset and target, which
+     *                 reads the whole file
+     * @return a CSR graph backed by the mapped file
+     * @throws IllegalArgumentException if any input is null
+     * @throws IOException              if the file cannot be read, is not
+     *                                  a graph file, a section is
+     *                                  truncated or 2 GB or larger, or
+     *                                  (when validating) its offsets or
+     *                                  targets are out of range
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> CSRGraph<T> open(Path file, LongFunction<T> decoder,
+                                       boolean validate) throws IOException {
+        if (file == null || decoder == null) {
+            throw new IllegalArgumentException("Input is null!");
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Graph file is truncated: " + file);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            int n = header.getInt();
+            int m = header.getInt();
+            long position = HEADER_BYTES;
+            long expected = position + (long) n * Long.BYTES
+                    + (long) (n + 1) * Integer.BYTES + 2L * m * Integer.BYTES;
+            if (n < 0 || m < 0 || channel.size() != expected) {
+                throw new IOException("Graph file is truncated: " + file);
+            }
+            if ((long) n * Long.BYTES > Integer.MAX_VALUE
+                    || (long) m * Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Graph file has a section of 2 GB or"
+                        + " more: " + file);
+            }
+
+            LongBuffer table = map(channel, position, (long) n * Long.BYTES)
+                    .asLongBuffer();
+            Vertex<T>[] vertices = (Vertex<T>[]) new Vertex[n];
+            for (int v = 0; v < n; v++) {
+                vertices[v] = new Vertex<>(decoder.apply(table.get(v)));
+            }
+            position += (long) n * Long.BYTES;
+            IntBuffer offsets = map(channel, position,
+                    (long) (n + 1) * Integer.BYTES).asIntBuffer();
+            position += (long) (n + 1) * Integer.BYTES;
+            IntBuffer targets = map(channel, position,
+                    (long) m * Integer.BYTES).asIntBuffer();
+            position += (long) m * Integer.BYTES;
+            IntBuffer weights = map(channel, position,
+                    (long) m * Integer.BYTES).asIntBuffer();
+            if (offsets.get(0) != 0 || offsets.get(n) != m) {
+                throw new IOException("Graph file has bad offsets: " + file);
+            }
+            if (validate) {
+                validate(offsets, targets, n, m, file);
+            }
+            return new CSRGraph<>(vertices, offsets, targets, weights);
+        }
+    }
+
+    /**
+     * Checks that the offsets never decrease and that every target is a
+     * vertex id.
+     * @param offsets the mapped offsets section
+     * @param targets the mapped targets section
+     * @param n       the number of vertices
+     * @param m       the number of edges
+     * @param file    the file being opened, for the error message
+     * @throws IOException if an offset or target is out of range
+     */
+    private static void validate(IntBuffer offsets, IntBuffer targets, int n,
+                                 int m, Path file) throws IOException {
+        for (int v = 0; v < n; v++) {
+            if (offsets.get(v) > offsets.get(v + 1)) {
+                throw new IOException("Graph file has decreasing offsets at"
+                        + " vertex " + v + ": " + file);
+            }
+        }
+        for (int e = 0; e < m; e++) {
+            int target = targets.get(e);
+            if (target < 0 || target >= n) {
+                throw new IOException("Graph file has target " + target
+                        + " out of range at edge " + e + ": " + file);
+            }
+        }
+    }
+
+    /**
+     * Maps a read-only little-endian section of the file. The mapping stays
+     * valid after the channel is closed.
+     * @param channel  the open file
+     * @param position the offset of the section
+     * @param size     the length of the section in bytes
+     * @return the mapped section
+     * @throws IOException if the section is 2 GB or larger, or cannot be
+     *                     mapped
+     */
+    private static ByteBuffer map(FileChannel channel, long position, long size)
+            throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Graph file section of " + size
+                    + " bytes at " + position + " is too large to map");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Flushes the buffer to the channel if it cannot take bytes more bytes.
+     * @param channel the channel to write to
+     * @param buffer  the buffer being filled
+     * @param bytes   the number of bytes about to be put
+     * @throws IOException if the write fails
+     */
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes)
+            throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes everything in the buffer to the channel and clears it.
+     * @param channel the channel to write to
+     * @param buffer  the buffer to drain
+     * @throws IOException if the write fails
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Immutable snapshot of the work done by one GraphAlgorithms call. The
+ * counters are gathered in local variables while the algorithm runs and
+ * copied into a GraphMetrics only when a GraphMetricsListener is present.
+ */
+public final class GraphMetrics {
+
+    private final String algorithm;
+    private final long verticesSettled;
+    private final long edgesScanned;
+    private final long relaxations;
+    private final long heapPushes;
+    private final long heapPops;
+    private final long peakQueueSize;
+
+    /**
+     * Constructs a new GraphMetrics.
+     * @param algorithm       the name of the algorithm that ran
+     * @param verticesSettled the number of vertices finalized
+     * @param edgesScanned    the number of edges examined
+     * @param relaxations     the number of edges that improved a tentative
+     *                        distance or cost
+     * @param heapPushes      the number of entries added to the queue
+     * @param heapPops        the number of entries removed from the queue
+     * @param peakQueueSize   the largest size the queue reached
+     */
+    GraphMetrics(String algorithm, long verticesSettled, long edgesScanned,
+                 long relaxations, long heapPushes, long heapPops,
+                 long peakQueueSize) {
+        this.algorithm = algorithm;
+        this.verticesSettled = verticesSettled;
+        this.edgesScanned = edgesScanned;
+        this.relaxations = relaxations;
+        this.heapPushes = heapPushes;
+        this.heapPops = heapPops;
+        this.peakQueueSize = peakQueueSize;
+    }
+
+    /**
+     * Returns the name of the algorithm that ran, such as "dijkstras".
+     * @return the algorithm name
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the number of vertices whose distance or tree edge was
+     * finalized.
+     * @return the number of settled vertices
+     */
+    public long getVerticesSettled() {
+        return verticesSettled;
+    }
+
+    /**
+     * Returns the number of outgoing edges examined.
+     * @return the number of scanned edges
+     */
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    /**
+     * Returns the number of scanned edges that improved a tentative
+     * distance or cost.
+     * @return the number of relaxations
+     */
+    public long getRelaxations() {
+        return relaxations;
+    }
+
+    /**
+     * Returns the number of entries added to the priority queue. Keys
+     * lowered in place by an indexed heap are relaxations, not pushes.
+     * @return the number of pushes
+     */
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+
+    /**
+     * Returns the number of entries removed from the priority queue,
+     * including stale entries a lazy queue skips.
+     * @return the number of pops
+     */
+    public long getHeapPops() {
+        return heapPops;
+    }
+
+    /**
+     * Returns the largest number of entries the priority queue held.
+     * @return the peak queue size
+     */
+    public long getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + ": settled=" + verticesSettled + ", scanned="
+                + edgesScanned + ", relaxed=" + relaxations + ", pushes="
+                + heapPushes + ", pops=" + heapPops + ", peakQueue="
+                + peakQueueSize;
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Receives the work counters of an instrumented GraphAlgorithms call once
+ * the call finishes, for example to export them to a metrics pipeline.
+ * Passing null instead of a listener disables reporting: the counters then
+ * stay in local variables the JIT can discard, and nothing is allocated.
+ */
+public interface GraphMetricsListener {
+
+    /**
+     * Called once at the end of every instrumented call, on the thread that
+     * made the call.
+     * @param metrics the counters of the call
+     */
+    void onComplete(GraphMetrics metrics);
+}
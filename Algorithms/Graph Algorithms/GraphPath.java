@@ -0,0 +1,65 @@
+import java.util.List;
+
+/**
+ * Result of a point-to-point shortest path search: the path itself, its
+ * length, and how many vertices the search settled before it stopped.
+ * @param <T> the generic typing of the data
+ */
+public final class GraphPath<T> {
+
+    private final List<Vertex<T>> vertices;
+    private final long distance;
+    private final int settled;
+
+    /**
+     * Constructs a new GraphPath.
+     * @param vertices the vertices of the path from start to target, empty if
+     *                 there is no path
+     * @param distance the length of the path, ShortestPaths.UNREACHABLE if
+     *                 there is no path
+     * @param settled  the number of vertices the search settled
+     */
+    GraphPath(List<Vertex<T>> vertices, long distance, int settled) {
+        this.vertices = vertices;
+        this.distance = distance;
+        this.settled = settled;
+    }
+
+    /**
+     * Returns the vertices of the path, start and target included.
+     * @return the vertices of the path, or an empty list if there is no path
+     */
+    public List<Vertex<T>> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the length of the path.
+     * @return the length, or ShortestPaths.UNREACHABLE if there is no path
+     */
+    public long getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns whether the target was reachable.
+     * @return true if a path was found
+     */
+    public boolean exists() {
+        return distance != ShortestPaths.UNREACHABLE;
+    }
+
+    /**
+     * Returns the number of vertices the search settled before stopping,
+     * which measures how much work the early exit saved.
+     * @return the number of settled vertices
+     */
+    public int getSettledCount() {
+        return settled;
+    }
+
+    @Override
+    public String toString() {
+        return "Path " + vertices + " with distance " + distance;
+    }
+}
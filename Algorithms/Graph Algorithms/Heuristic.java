@@ -0,0 +1,18 @@
+/**
+ * Lower bound on the remaining distance used to guide A* search.
+ * Implementations must be consistent: for every edge (u, v) of weight w,
+ * estimate(u, target) <= w + estimate(v, target), and estimate(target,
+ * target) == 0. Straight-line distance on geometric graphs is the usual
+ * choice; a heuristic that always returns 0 makes A* behave like Dijkstra.
+ * @param <T> the generic typing of the data
+ */
+public interface Heuristic<T> {
+
+    /**
+     * Estimates the distance from vertex to target without overestimating.
+     * @param vertex the vertex to estimate from
+     * @param target the vertex the search is heading to
+     * @return a non-negative lower bound on the distance
+     */
+    long estimate(Vertex<T> vertex, Vertex<T> target);
+}
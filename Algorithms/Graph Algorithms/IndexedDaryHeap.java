@@ -0,0 +1,239 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min heap of int ids keyed by long priorities. Every id in
+ * [0, capacity) can be in the heap at most once, and its key can be lowered
+ * in place with decreaseKey, so a Dijkstra built on it never holds stale
+ * entries. Ids, keys and positions live in primitive arrays, so no
+ * operation allocates.
+ */
+public class IndexedDaryHeap {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] ids;
+    private final long[] keys;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Constructs a new IndexedDaryHeap with the default arity.
+     * @param capacity the number of ids the heap can hold, [0, capacity)
+     * @throws java.lang.IllegalArgumentException if capacity is negative
+     */
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a new IndexedDaryHeap.
+     * @param capacity the number of ids the heap can hold, [0, capacity)
+     * @param arity    the number of children of every node
+     * @throws java.lang.IllegalArgumentException if capacity is negative or
+     *                                            arity is less than 2
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (capacity < 0 || arity < 2) {
+            throw new IllegalArgumentException("Capacity or arity is invalid!");
+        }
+        this.arity = arity;
+        ids = new int[capacity];
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Adds the id with the given key.
+     * @param id  the id to add
+     * @param key the priority of the id
+     * @throws java.lang.IllegalArgumentException if the id is already in the
+     *                                            heap
+     */
+    public void insert(int id, long key) {
+        if (positions[id] >= 0) {
+            throw new IllegalArgumentException("Id is already in the heap!");
+        }
+        ids[size] = id;
+        keys[size] = key;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Lowers the key of an id already in the heap.
+     * @param id  the id to update
+     * @param key the new priority, no greater than the current one
+     * @throws java.util.NoSuchElementException   if the id is not in the heap
+     * @throws java.lang.IllegalArgumentException if key is greater than the
+     *                                            current key
+     */
+    public void decreaseKey(int id, long key) {
+        int position = positions[id];
+        if (position < 0) {
+            throw new NoSuchElementException("Id is not in the heap!");
+        } else if (key > keys[position]) {
+            throw new IllegalArgumentException("Key is greater than the current key!");
+        }
+        keys[position] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Adds the id with the given key, or lowers its key if it is already in
+     * the heap with a greater one.
+     * @param id  the id to add or update
+     * @param key the priority of the id
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int id, long key) {
+        int position = positions[id];
+        if (position < 0) {
+            insert(id, key);
+            return true;
+        } else if (key < keys[position]) {
+            keys[position] = key;
+            siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     * @return the id with the smallest key
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public int removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty!");
+        }
+        int min = ids[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            ids[0] = ids[size];
+            keys[0] = keys[size];
+            positions[ids[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     * @return the smallest key
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public long minKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty!");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns the key of an id in the heap.
+     * @param id the id to look up
+     * @return the key of the id
+     * @throws java.util.NoSuchElementException if the id is not in the heap
+     */
+    public long keyOf(int id) {
+        if (positions[id] < 0) {
+            throw new NoSuchElementException("Id is not in the heap!");
+        }
+        return keys[positions[id]];
+    }
+
+    /**
+     * Returns whether the id is in the heap.
+     * @param id the id to look up
+     * @return true if the id is in the heap
+     */
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     * @return true if the heap has no ids
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every id from the heap in O(size) time, keeping its capacity
+     * so the heap can be reused.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[ids[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the entry at position up until its parent's key is not greater.
+     * @param position the position of the entry
+     */
+    private void siftUp(int position) {
+        int id = ids[position];
+        long key = keys[position];
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            ids[position] = ids[parent];
+            keys[position] = keys[parent];
+            positions[ids[position]] = position;
+            position = parent;
+        }
+        ids[position] = id;
+        keys[position] = key;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves the entry at position down until no child has a smaller key.
+     * @param position the position of the entry
+     */
+    private void siftDown(int position) {
+        int id = ids[position];
+        long key = keys[position];
+        while (true) {
+            int first = position * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int child = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < keys[child]) {
+                    child = c;
+                }
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            ids[position] = ids[child];
+            keys[position] = keys[child];
+            positions[ids[position]] = position;
+            position = child;
+        }
+        ids[position] = id;
+        keys[position] = key;
+        positions[id] = position;
+    }
+}
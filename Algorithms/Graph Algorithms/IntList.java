@@ -0,0 +1,71 @@
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used by the graph engines to collect
+ * vertex ids without boxing.
+ */
+class IntList {
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a new IntList.
+     * @param capacity the initial capacity
+     */
+    IntList(int capacity) {
+        backingArray = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Adds the value to the back of the list.
+     * @param value the value to add
+     */
+    void add(int value) {
+        if (size == backingArray.length) {
+            backingArray = Arrays.copyOf(backingArray, backingArray.length << 1);
+        }
+        backingArray[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index.
+     * @param index the index of the value
+     * @return the value at that index
+     */
+    int get(int index) {
+        return backingArray[index];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     * @param index the index of the value
+     * @param value the new value
+     */
+    void set(int index, int value) {
+        backingArray[index] = value;
+    }
+
+    /**
+     * Returns the number of values in the list.
+     * @return the size of the list
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value from the list, keeping its capacity.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the values of the list in a new array of exactly its size.
+     * @return the values of the list
+     */
+    int[] toArray() {
+        return Arrays.copyOf(backingArray, size);
+    }
+}
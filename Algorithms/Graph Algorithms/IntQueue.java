@@ -0,0 +1,77 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Growable FIFO queue of primitive ints backed by a power-of-two circular
+ * array, so enqueue and dequeue never box or allocate per element.
+ */
+class IntQueue {
+
+    private int[] backingArray;
+    private int front;
+    private int size;
+
+    /**
+     * Constructs a new IntQueue.
+     * @param capacity the initial capacity, rounded up to a power of two
+     */
+    IntQueue(int capacity) {
+        int length = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        backingArray = new int[length];
+    }
+
+    /**
+     * Adds the value to the back of the queue.
+     * @param value the value to add
+     */
+    void enqueue(int value) {
+        if (size == backingArray.length) {
+            int[] newArray = new int[backingArray.length << 1];
+            for (int i = 0; i < size; i++) {
+                newArray[i] = backingArray[(front + i) & (backingArray.length - 1)];
+            }
+            backingArray = newArray;
+            front = 0;
+        }
+        backingArray[(front + size) & (backingArray.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the value at the front of the queue.
+     * @return the value at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     */
+    int dequeue() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        int value = backingArray[front];
+        front = (front + 1) & (backingArray.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Returns whether the queue is empty.
+     * @return true if the queue has no elements
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every element from the queue, keeping its capacity.
+     */
+    void clear() {
+        front = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.Set;
+import java.util.Map;
+import java.util.HashMap;
+
+/**
+ * Immutable CSR graph with long edge weights. The layout matches CSRGraph:
+ * the outgoing edges of vertex v are stored in positions [edgeStart(v),
+ * edgeEnd(v)) of a flat int[] of targets and a parallel long[] of weights,
+ * so GraphAlgorithms can run Dijkstra's and Prim's on it without boxing.
+ * @param <T> the generic typing of the data
+ */
+public class LongCSRGraph<T> implements VertexIndex<T> {
+
+    private final Vertex<T>[] vertices;
+    private final Map<Vertex<T>, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights;
+
+    /**
+     * Builds a long weighted CSR graph from a vertex set and an edge set.
+     * @param vertices the vertices of the graph
+     * @param edges    the directed edges of the graph
+     * @throws IllegalArgumentException if any input is null, or if an edge
+     *                                  refers to a vertex not in vertices
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LongCSRGraph(Set<Vertex<T>> vertices, Set<LongEdge<T>> edges) {
+        if (vertices == null || edges == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        int n = vertices.size();
+        this.vertices = (Vertex<T>[]) new Vertex[n];
+        this.ids = new HashMap<>(2 * n);
+        for (Vertex<T> v : vertices) {
+            this.vertices[ids.size()] = v;
+            ids.put(v, ids.size());
+        }
+
+        int[] sources = new int[edges.size()];
+        int[] dests = new int[edges.size()];
+        long[] costs = new long[edges.size()];
+        int m = 0;
+        for (LongEdge<T> e : edges) {
+            Integer u = ids.get(e.getU());
+            Integer v = ids.get(e.getV());
+            if (u == null || v == null) {
+                throw new IllegalArgumentException("Vertex set must contain all"
+                        + " vertices of the graph.");
+            }
+            sources[m] = u;
+            dests[m] = v;
+            costs[m] = e.getWeight();
+            m++;
+        }
+
+        offsets = new int[n + 1];
+        int[] slots = CSRGraph.slots(sources, m, offsets);
+        targets = new int[m];
+        weights = new long[m];
+        for (int i = 0; i < m; i++) {
+            targets[slots[i]] = dests[i];
+            weights[slots[i]] = costs[i];
+        }
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     * @return the number of vertices
+     */
+    @Override
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the number of directed edges in the graph.
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the dense id of the given vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex, or -1 if it is not in the graph
+     */
+    @Override
+    public int indexOf(Vertex<T> vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex with the given dense id.
+     * @param id the id of the vertex
+     * @return the vertex with that id
+     */
+    @Override
+    public Vertex<T> getVertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Returns the position of the first outgoing edge of vertex u.
+     * @param u the id of the vertex
+     * @return the first edge position of u
+     */
+    public int edgeStart(int u) {
+        return offsets[u];
+    }
+
+    /**
+     * Returns the position one past the last outgoing edge of vertex u.
+     * @param u the id of the vertex
+     * @return the end edge position of u
+     */
+    public int edgeEnd(int u) {
+        return offsets[u + 1];
+    }
+
+    /**
+     * Returns the id of the vertex the edge at position e points to.
+     * @param e the edge position
+     * @return the target vertex id
+     */
+    public int target(int e) {
+        return targets[e];
+    }
+
+    /**
+     * Returns the weight of the edge at position e.
+     * @param e the edge position
+     * @return the edge weight
+     */
+    public long weight(int e) {
+        return weights[e];
+    }
+}
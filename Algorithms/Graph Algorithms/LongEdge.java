@@ -0,0 +1,65 @@
+/**
+ * Directed edge with a long weight, for graphs whose weights do not fit in
+ * the int of Edge. Edges compare with Long.compare, so the ordering stays
+ * correct however far apart two weights are.
+ * @param <T> the generic typing of the data
+ */
+public class LongEdge<T> implements Comparable<LongEdge<? super T>> {
+
+    private final Vertex<T> u;
+    private final Vertex<T> v;
+    private final long weight;
+
+    /**
+     * Constructs a new LongEdge.
+     * @param u      the vertex the edge leaves
+     * @param v      the vertex the edge points to
+     * @param weight the weight of the edge
+     * @throws IllegalArgumentException if u or v is null
+     */
+    public LongEdge(Vertex<T> u, Vertex<T> v, long weight) {
+        if (u == null || v == null) {
+            throw new IllegalArgumentException("Arguments cannot be null.");
+        }
+        this.u = u;
+        this.v = v;
+        this.weight = weight;
+    }
+
+    @Override
+    public int hashCode() {
+        return u.hashCode() ^ v.hashCode() ^ Long.hashCode(weight);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o != null && o instanceof LongEdge<?>) {
+            LongEdge<?> e = (LongEdge<?>) o;
+            return weight == e.weight && u.equals(e.u) && v.equals(e.v);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int compareTo(LongEdge<? super T> e) {
+        return Long.compare(weight, e.getWeight());
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public Vertex<T> getU() {
+        return u;
+    }
+
+    public Vertex<T> getV() {
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return "Edge from " + u + " to " + v + " with weight " + weight;
+    }
+}
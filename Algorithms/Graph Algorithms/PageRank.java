@@ -0,0 +1,214 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PageRank scores of a CSRGraph, computed by pull-based power iteration:
+ * every vertex sums the contributions of its in-neighbors from the
+ * transpose, so each worker writes only its own slice of the next rank
+ * vector and no synchronization is needed within an iteration. Ranks,
+ * contributions and the teleport vector are primitive double arrays, so
+ * memory stays proportional to V plus the E-sized transpose. Edge weights
+ * are ignored; parallel edges count once each.
+ * @param <T> the generic typing of the data
+ */
+public class PageRank<T> {
+
+    /**
+     * Vertices handled by one task.
+     */
+    private static final int GRAIN = 4096;
+
+    private final CSRGraph<T> graph;
+    private final double[] ranks;
+    private final int iterations;
+
+    /**
+     * Runs power iteration until the L1 change of the rank vector drops
+     * below tolerance or maxIterations is reached.
+     * @param graph         the CSR graph to rank
+     * @param teleport      probability of jumping to every vertex, summing
+     *                      to 1
+     * @param damping       probability of following an edge
+     * @param tolerance     L1 change at which to stop
+     * @param maxIterations the most iterations to run
+     * @param pool          the pool whose workers run each iteration
+     */
+    PageRank(CSRGraph<T> graph, double[] teleport, double damping,
+             double tolerance, int maxIterations, ForkJoinPool pool) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        CSRGraph<T> reverse = graph.transpose();
+        double[] rank = teleport.clone();
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        int iteration = 0;
+        double change = Double.MAX_VALUE;
+        while (iteration < maxIterations && change >= tolerance) {
+            double dangling = pool.invoke(new Scatter(graph, rank,
+                    contribution, 0, n));
+            change = pool.invoke(new Gather(reverse, teleport, contribution,
+                    rank, next, damping, dangling, 0, n));
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+            iteration++;
+        }
+        ranks = rank;
+        iterations = iteration;
+    }
+
+    /**
+     * Returns the rank of the vertex.
+     * @param vertex the vertex to look up
+     * @return the rank of the vertex
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public double getRank(Vertex<T> vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return ranks[id];
+    }
+
+    /**
+     * Returns the rank of every vertex, indexed by vertex id. The ranks sum
+     * to 1.
+     * @return the backing array of ranks
+     */
+    public double[] getRanks() {
+        return ranks;
+    }
+
+    /**
+     * Returns the number of iterations run before stopping.
+     * @return the number of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Computes every vertex's contribution to each of its out-neighbors and
+     * returns the total rank held by vertices with no out-edges.
+     */
+    private static final class Scatter extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final double[] rank;
+        private final double[] contribution;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Scatter over the vertex ids [lo, hi).
+         * @param graph        the CSR graph being ranked
+         * @param rank         the current ranks
+         * @param contribution the contributions to fill in
+         * @param lo           first vertex id of the range
+         * @param hi           one past the last vertex id of the range
+         */
+        Scatter(CSRGraph<?> graph, double[] rank, double[] contribution,
+                int lo, int hi) {
+            this.graph = graph;
+            this.rank = rank;
+            this.contribution = contribution;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Double compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                Scatter left = new Scatter(graph, rank, contribution, lo, mid);
+                left.fork();
+                double right = new Scatter(graph, rank, contribution, mid, hi)
+                        .compute();
+                return left.join() + right;
+            }
+            double dangling = 0;
+            for (int u = lo; u < hi; u++) {
+                int degree = graph.degree(u);
+                if (degree == 0) {
+                    contribution[u] = 0;
+                    dangling += rank[u];
+                } else {
+                    contribution[u] = rank[u] / degree;
+                }
+            }
+            return dangling;
+        }
+    }
+
+    /**
+     * Pulls the contributions of in-neighbors into the next ranks and
+     * returns the L1 change of the range.
+     */
+    private static final class Gather extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> reverse;
+        private final double[] teleport;
+        private final double[] contribution;
+        private final double[] rank;
+        private final double[] next;
+        private final double damping;
+        private final double dangling;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Gather over the vertex ids [lo, hi).
+         * @param reverse      the transpose of the ranked graph
+         * @param teleport     the teleport probabilities
+         * @param contribution the contributions of every vertex
+         * @param rank         the current ranks
+         * @param next         the next ranks to fill in
+         * @param damping      probability of following an edge
+         * @param dangling     total rank of vertices with no out-edges
+         * @param lo           first vertex id of the range
+         * @param hi           one past the last vertex id of the range
+         */
+        Gather(CSRGraph<?> reverse, double[] teleport, double[] contribution,
+               double[] rank, double[] next, double damping, double dangling,
+               int lo, int hi) {
+            this.reverse = reverse;
+            this.teleport = teleport;
+            this.contribution = contribution;
+            this.rank = rank;
+            this.next = next;
+            this.damping = damping;
+            this.dangling = dangling;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Double compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                Gather left = new Gather(reverse, teleport, contribution, rank,
+                        next, damping, dangling, lo, mid);
+                left.fork();
+                double right = new Gather(reverse, teleport, contribution, rank,
+                        next, damping, dangling, mid, hi).compute();
+                return left.join() + right;
+            }
+            double change = 0;
+            for (int v = lo; v < hi; v++) {
+                double sum = 0;
+                for (int e = reverse.edgeStart(v); e < reverse.edgeEnd(v); e++) {
+                    sum += contribution[reverse.target(e)];
+                }
+                next[v] = (1 - damping) * teleport[v]
+                        + damping * (sum + dangling * teleport[v]);
+                change += Math.abs(next[v] - rank[v]);
+            }
+            return change;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Direction-optimizing parallel breadth first search (Beamer et al.). Each
+ * frontier level is expanded by ForkJoinPool workers, either top-down (the
+ * frontier claims its unvisited neighbors with a CAS on the parent array) or
+ * bottom-up (every unvisited vertex scans its in-edges for a frontier
+ * parent), switching between the two based on the size of the frontier.
+ */
+final class ParallelBFS {
+
+    /**
+     * Switch to bottom-up once the frontier's out-edges exceed the edges
+     * left to explore divided by ALPHA.
+     */
+    private static final int ALPHA = 14;
+
+    /**
+     * Switch back to top-down once the frontier shrinks below the vertex
+     * count divided by BETA.
+     */
+    private static final int BETA = 24;
+
+    /**
+     * Frontier vertices handled by one top-down task.
+     */
+    private static final int TOP_DOWN_GRAIN = 256;
+
+    /**
+     * Vertices handled by one bottom-up task.
+     */
+    private static final int BOTTOM_UP_GRAIN = 4096;
+
+    /**
+     * Prevents instantiation.
+     */
+    private ParallelBFS() {
+    }
+
+    /**
+     * Runs the search.
+     * @param source id of the start vertex
+     * @param graph  the CSR graph to search through
+     * @param pool   the pool whose workers expand each level
+     * @param <T>    the generic typing of the data
+     * @return the visit order, levels and parents of the search
+     */
+    static <T> BFSResult<T> search(int source, CSRGraph<T> graph,
+                                   ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] levels = new int[n];
+        Arrays.fill(levels, -1);
+        AtomicIntegerArray parents = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            parents.set(v, -1);
+        }
+        boolean[] visited = new boolean[n];
+        CSRGraph<T> reverse = null;
+
+        int[] order = new int[n];
+        int count = 0;
+        int[] frontier = {source};
+        visited[source] = true;
+        levels[source] = 0;
+        long unexplored = graph.edgeCount();
+        boolean bottomUp = false;
+        int depth = 0;
+        while (frontier.length > 0) {
+            System.arraycopy(frontier, 0, order, count, frontier.length);
+            count += frontier.length;
+            long frontierEdges = 0;
+            for (int u : frontier) {
+                frontierEdges += graph.degree(u);
+            }
+            unexplored -= frontierEdges;
+            if (!bottomUp && frontierEdges > unexplored / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontier.length < n / BETA) {
+                bottomUp = false;
+            }
+            depth++;
+            if (bottomUp) {
+                if (reverse == null) {
+                    reverse = graph.transpose();
+                }
+                long[] inFrontier = new long[(n + 63) >>> 6];
+                for (int u : frontier) {
+                    inFrontier[u >>> 6] |= 1L << u;
+                }
+                frontier = pool.invoke(new BottomUpStep(reverse, inFrontier,
+                        visited, parents, levels, depth, 0, n));
+            } else {
+                frontier = pool.invoke(new TopDownStep(graph, frontier,
+                        visited, parents, levels, depth, 0, frontier.length));
+                Arrays.sort(frontier);
+            }
+            for (int v : frontier) {
+                visited[v] = true;
+            }
+        }
+
+        int[] parentArray = new int[n];
+        for (int v = 0; v < n; v++) {
+            parentArray[v] = parents.get(v);
+        }
+        return new BFSResult<>(graph, Arrays.copyOf(order, count), levels,
+                parentArray);
+    }
+
+    /**
+     * Concatenates the vertices found by two subtasks.
+     * @param left  the vertices found by the left subtask
+     * @param right the vertices found by the right subtask
+     * @return both arrays joined in order
+     */
+    private static int[] concat(int[] left, int[] right) {
+        int[] joined = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, joined, left.length, right.length);
+        return joined;
+    }
+
+    /**
+     * Expands a slice of the frontier along out-edges.
+     */
+    private static final class TopDownStep extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final int[] frontier;
+        private final boolean[] visited;
+        private final AtomicIntegerArray parents;
+        private final int[] levels;
+        private final int depth;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new TopDownStep over frontier[lo, hi).
+         * @param graph    the CSR graph to search through
+         * @param frontier ids of the current frontier
+         * @param visited  visited flags of every vertex
+         * @param parents  parent ids, -1 while unclaimed
+         * @param levels   levels of every vertex
+         * @param depth    level of the vertices being discovered
+         * @param lo       first frontier index of the slice
+         * @param hi       one past the last frontier index of the slice
+         */
+        TopDownStep(CSRGraph<?> graph, int[] frontier, boolean[] visited,
+                    AtomicIntegerArray parents, int[] levels, int depth,
+                    int lo, int hi) {
+            this.graph = graph;
+            this.frontier = frontier;
+            this.visited = visited;
+            this.parents = parents;
+            this.levels = levels;
+            this.depth = depth;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hi - lo > TOP_DOWN_GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                TopDownStep left = new TopDownStep(graph, frontier, visited,
+                        parents, levels, depth, lo, mid);
+                left.fork();
+                int[] right = new TopDownStep(graph, frontier, visited,
+                        parents, levels, depth, mid, hi).compute();
+                return concat(left.join(), right);
+            }
+            IntList found = new IntList(hi - lo);
+            for (int i = lo; i < hi; i++) {
+                int u = frontier[i];
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int v = graph.target(e);
+                    if (!visited[v] && parents.get(v) < 0
+                            && parents.compareAndSet(v, -1, u)) {
+                        levels[v] = depth;
+                        found.add(v);
+                    }
+                }
+            }
+            return found.toArray();
+        }
+    }
+
+    /**
+     * Lets a range of unvisited vertices look for a parent in the frontier
+     * along their in-edges.
+     */
+    private static final class BottomUpStep extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> reverse;
+        private final long[] inFrontier;
+        private final boolean[] visited;
+        private final AtomicIntegerArray parents;
+        private final int[] levels;
+        private final int depth;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new BottomUpStep over the vertex ids [lo, hi).
+         * @param reverse    the transpose of the searched graph
+         * @param inFrontier bitset of the current frontier
+         * @param visited    visited flags of every vertex
+         * @param parents    parent ids, -1 while unclaimed
+         * @param levels     levels of every vertex
+         * @param depth      level of the vertices being discovered
+         * @param lo         first vertex id of the range
+         * @param hi         one past the last vertex id of the range
+         */
+        BottomUpStep(CSRGraph<?> reverse, long[] inFrontier, boolean[] visited,
+                     AtomicIntegerArray parents, int[] levels, int depth,
+                     int lo, int hi) {
+            this.reverse = reverse;
+            this.inFrontier = inFrontier;
+            this.visited = visited;
+            this.parents = parents;
+            this.levels = levels;
+            this.depth = depth;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hi - lo > BOTTOM_UP_GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                BottomUpStep left = new BottomUpStep(reverse, inFrontier,
+                        visited, parents, levels, depth, lo, mid);
+                left.fork();
+                int[] right = new BottomUpStep(reverse, inFrontier, visited,
+                        parents, levels, depth, mid, hi).compute();
+                return concat(left.join(), right);
+            }
+            IntList found = new IntList(64);
+            for (int v = lo; v < hi; v++) {
+                if (visited[v]) {
+                    continue;
+                }
+                for (int e = reverse.edgeStart(v); e < reverse.edgeEnd(v); e++) {
+                    int u = reverse.target(e);
+                    if ((inFrontier[u >>> 6] & (1L << u)) != 0) {
+                        parents.set(v, u);
+                        levels[v] = depth;
+                        found.add(v);
+                        break;
+                    }
+                }
+            }
+            return found.toArray();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Boruvka's minimum spanning forest. Every round, ForkJoinPool workers scan
+ * the edges in parallel and record the cheapest edge leaving each
+ * component with a CAS; the chosen edges are then merged with a
+ * DisjointSet. Each round at least halves the number of components, so
+ * there are O(log V) rounds.
+ */
+final class ParallelBoruvka {
+
+    /**
+     * Vertices scanned by one task.
+     */
+    private static final int GRAIN = 2048;
+
+    /**
+     * Prevents instantiation.
+     */
+    private ParallelBoruvka() {
+    }
+
+    /**
+     * Runs the algorithm.
+     * @param graph the CSR graph, with undirected edges stored both ways
+     * @param pool  the pool whose workers scan edges
+     * @return the edge positions of the spanning forest
+     */
+    static IntList forest(CSRGraph<?> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] sources = new int[graph.edgeCount()];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                sources[e] = u;
+            }
+        }
+        DisjointSet components = new DisjointSet(n);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        IntList tree = new IntList(Math.max(1, n - 1));
+        boolean merged = true;
+        while (merged && components.count() > 1) {
+            for (int v = 0; v < n; v++) {
+                cheapest.set(v, -1);
+            }
+            pool.invoke(new Scan(graph, sources, components, cheapest, 0, n));
+            merged = false;
+            for (int v = 0; v < n; v++) {
+                int e = cheapest.get(v);
+                if (e >= 0 && components.union(sources[e], graph.target(e))) {
+                    tree.add(e);
+                    merged = true;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Returns whether edge a is lighter than edge b, breaking ties by the
+     * unordered pair of endpoints so both directions of an edge compare
+     * equal and every component agrees on the same order.
+     * @param graph   the CSR graph
+     * @param sources source id of every edge position
+     * @param a       the first edge position
+     * @param b       the second edge position, or -1 for none
+     * @return true if a comes before b
+     */
+    private static boolean lighter(CSRGraph<?> graph, int[] sources, int a,
+                                   int b) {
+        if (b < 0) {
+            return true;
+        }
+        int weightA = graph.weight(a);
+        int weightB = graph.weight(b);
+        if (weightA != weightB) {
+            return weightA < weightB;
+        }
+        int lowA = Math.min(sources[a], graph.target(a));
+        int lowB = Math.min(sources[b], graph.target(b));
+        if (lowA != lowB) {
+            return lowA < lowB;
+        }
+        return Math.max(sources[a], graph.target(a))
+                < Math.max(sources[b], graph.target(b));
+    }
+
+    /**
+     * Finds the cheapest edge leaving each component among the out-edges of
+     * a range of vertices.
+     */
+    private static final class Scan extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph<?> graph;
+        private final int[] sources;
+        private final DisjointSet components;
+        private final AtomicIntegerArray cheapest;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a new Scan over the vertex ids [lo, hi).
+         * @param graph      the CSR graph
+         * @param sources    source id of every edge position
+         * @param components the components merged so far
+         * @param cheapest   cheapest edge position per component root
+         * @param lo         first vertex id of the range
+         * @param hi         one past the last vertex id of the range
+         */
+        Scan(CSRGraph<?> graph, int[] sources, DisjointSet components,
+             AtomicIntegerArray cheapest, int lo, int hi) {
+            this.graph = graph;
+            this.sources = sources;
+            this.components = components;
+            this.cheapest = cheapest;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Scan(graph, sources, components, cheapest, lo, mid),
+                        new Scan(graph, sources, components, cheapest, mid, hi));
+                return;
+            }
+            for (int u = lo; u < hi; u++) {
+                int rootU = components.findWithoutCompression(u);
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int rootV = components.findWithoutCompression(graph.target(e));
+                    if (rootU != rootV) {
+                        offer(rootU, e);
+                        offer(rootV, e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Records e as the cheapest edge of the component if it is lighter
+         * than the current one.
+         * @param root the component root
+         * @param e    the edge position
+         */
+        private void offer(int root, int e) {
+            int current = cheapest.get(root);
+            while (lighter(graph, sources, e, current)) {
+                if (cheapest.compareAndSet(root, current, e)) {
+                    return;
+                }
+                current = cheapest.get(root);
+            }
+        }
+    }
+}
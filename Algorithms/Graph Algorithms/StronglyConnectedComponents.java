@@ -0,0 +1,161 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.nio.IntBuffer;
+
+/**
+ * Strongly connected components of a directed CSRGraph, found with
+ * Kosaraju's algorithm: an iterative dfs forest over the graph gives a
+ * post-order, and a second iterative pass over the transpose in reverse
+ * post-order peels off one component at a time. Components are numbered in
+ * the order they are found, which is a topological order of the
+ * condensation DAG. Nothing recurses, so arbitrarily deep graphs are safe.
+ * @param <T> the generic typing of the data
+ */
+public class StronglyConnectedComponents<T> {
+
+    private final CSRGraph<T> graph;
+    private final int[] componentOf;
+    private final int count;
+
+    /**
+     * Computes the components of the graph.
+     * @param graph the CSR graph to decompose
+     */
+    StronglyConnectedComponents(CSRGraph<T> graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        int[] postOrder = GraphAlgorithms.dfsOrder(graph).getPostOrderIds();
+        CSRGraph<T> reverse = graph.transpose();
+        componentOf = new int[n];
+        Arrays.fill(componentOf, -1);
+        int[] stack = new int[n];
+        int components = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int root = postOrder[i];
+            if (componentOf[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            componentOf[root] = components;
+            stack[top++] = root;
+            while (top > 0) {
+                int u = stack[--top];
+                for (int e = reverse.edgeStart(u); e < reverse.edgeEnd(u); e++) {
+                    int v = reverse.target(e);
+                    if (componentOf[v] < 0) {
+                        componentOf[v] = components;
+                        stack[top++] = v;
+                    }
+                }
+            }
+            components++;
+        }
+        count = components;
+    }
+
+    /**
+     * Returns the number of strongly connected components.
+     * @return the number of components
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the component of the vertex.
+     * @param vertex the vertex to look up
+     * @return the component id, in [0, count())
+     * @throws IllegalArgumentException if vertex is not in the graph
+     */
+    public int componentOf(Vertex<T> vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex doesn't exist in the graph!");
+        }
+        return componentOf[id];
+    }
+
+    /**
+     * Returns the component of every vertex, indexed by vertex id.
+     * @return the backing array of component ids
+     */
+    public int[] getComponentIds() {
+        return componentOf;
+    }
+
+    /**
+     * Returns the vertices of every component, indexed by component id.
+     * @return list of the components
+     */
+    public List<List<Vertex<T>>> getComponents() {
+        List<List<Vertex<T>>> components = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            components.add(new ArrayList<>());
+        }
+        for (int v = 0; v < componentOf.length; v++) {
+            components.get(componentOf[v]).add(graph.getVertex(v));
+        }
+        return components;
+    }
+
+    /**
+     * Builds the condensation of the graph: one vertex per component, whose
+     * data is the component id, and one edge between two components for
+     * every pair joined by at least one edge, weighted by the lightest such
+     * edge. The result is acyclic, and component ids are already in
+     * topological order.
+     * @return the condensation DAG
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CSRGraph<Integer> condensation() {
+        int n = componentOf.length;
+        int[] memberOffsets = new int[count + 1];
+        for (int v = 0; v < n; v++) {
+            memberOffsets[componentOf[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, count);
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentOf[v]]++] = v;
+        }
+
+        int[] offsets = new int[count + 1];
+        IntList targets = new IntList(count);
+        IntList weights = new IntList(count);
+        int[] slotOf = new int[count];
+        int[] seenBy = new int[count];
+        Arrays.fill(seenBy, -1);
+        for (int c = 0; c < count; c++) {
+            offsets[c] = targets.size();
+            for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+                int u = members[i];
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int d = componentOf[graph.target(e)];
+                    if (d == c) {
+                        continue;
+                    }
+                    if (seenBy[d] != c) {
+                        seenBy[d] = c;
+                        slotOf[d] = targets.size();
+                        targets.add(d);
+                        weights.add(graph.weight(e));
+                    } else if (graph.weight(e) < weights.get(slotOf[d])) {
+                        weights.set(slotOf[d], graph.weight(e));
+                    }
+                }
+            }
+        }
+        offsets[count] = targets.size();
+
+        Vertex<Integer>[] vertices = (Vertex<Integer>[]) new Vertex[count];
+        for (int c = 0; c < count; c++) {
+            vertices[c] = new Vertex<>(c);
+        }
+        return new CSRGraph<>(vertices, IntBuffer.wrap(offsets),
+                IntBuffer.wrap(targets.toArray()), IntBuffer.wrap(weights.toArray()));
+    }
+}
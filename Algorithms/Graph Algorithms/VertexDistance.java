@@ -34,7 +34,7 @@ public final class VertexDistance<T>
 
     @Override
     public int compareTo(VertexDistance<? super T> pair) {
-        return this.getDistance() - pair.getDistance();
+        return Integer.compare(this.getDistance(), pair.getDistance());
     }
 
     @Override
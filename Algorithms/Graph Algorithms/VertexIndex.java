@@ -0,0 +1,28 @@
+/**
+ * Dense numbering of the vertices of a CSR graph, shared by the int, long
+ * and double weighted variants so results indexed by vertex id can map ids
+ * back to vertices whatever the weight type of the graph.
+ * @param <T> the generic typing of the data
+ */
+interface VertexIndex<T> {
+
+    /**
+     * Returns the number of vertices in the graph.
+     * @return the number of vertices
+     */
+    int vertexCount();
+
+    /**
+     * Returns the dense id of the given vertex.
+     * @param vertex the vertex to look up
+     * @return the id of the vertex, or -1 if it is not in the graph
+     */
+    int indexOf(Vertex<T> vertex);
+
+    /**
+     * Returns the vertex with the given dense id.
+     * @param id the id of the vertex
+     * @return the vertex with that id
+     */
+    Vertex<T> getVertex(int id);
+}
@@ -0,0 +1,168 @@
+import java.util.Arrays;
+
+/**
+ * Strategies for renumbering the vertices of a CSRGraph so that vertices
+ * visited together sit close together in the offset, target and weight
+ * arrays. Each strategy produces a permutation for CSRGraph.reorder, where
+ * permutation[oldId] is the new id of the vertex. Edges are treated as
+ * undirected when deciding which vertices are neighbors.
+ */
+public enum VertexOrdering {
+
+    /**
+     * Numbers vertices in breadth first order, starting each component at
+     * its lowest old id, so the neighbors of a vertex get nearby ids.
+     */
+    BFS {
+        @Override
+        public int[] permutation(CSRGraph<?> graph) {
+            int n = graph.vertexCount();
+            CSRGraph<?> reverse = graph.transpose();
+            int[] order = new int[n];
+            boolean[] seen = new boolean[n];
+            int count = 0;
+            for (int root = 0; root < n; root++) {
+                if (seen[root]) {
+                    continue;
+                }
+                seen[root] = true;
+                int head = count;
+                order[count++] = root;
+                while (head < count) {
+                    int u = order[head++];
+                    count = visit(graph, u, seen, order, count);
+                    count = visit(reverse, u, seen, order, count);
+                }
+            }
+            return invert(order);
+        }
+    },
+
+    /**
+     * Numbers vertices by descending degree, in and out combined, so the
+     * hubs most traversals touch share a few cache lines.
+     */
+    DEGREE {
+        @Override
+        public int[] permutation(CSRGraph<?> graph) {
+            int n = graph.vertexCount();
+            CSRGraph<?> reverse = graph.transpose();
+            long[] keys = new long[n];
+            for (int v = 0; v < n; v++) {
+                long degree = (long) graph.degree(v) + reverse.degree(v);
+                keys[v] = ((long) Integer.MAX_VALUE - Math.min(degree,
+                        Integer.MAX_VALUE)) << 32 | v;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) keys[i];
+            }
+            return invert(order);
+        }
+    },
+
+    /**
+     * Reverse Cuthill-McKee: a breadth first order that starts each
+     * component at a vertex of minimum degree and visits neighbors in
+     * increasing degree, reversed at the end. It minimizes the bandwidth of
+     * the adjacency matrix, which keeps every vertex's neighbors in a narrow
+     * id range.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] permutation(CSRGraph<?> graph) {
+            int n = graph.vertexCount();
+            CSRGraph<?> reverse = graph.transpose();
+            CSRGraph<?>[] sides = {graph, reverse};
+            int[] degree = new int[n];
+            long[] starts = new long[n];
+            for (int v = 0; v < n; v++) {
+                degree[v] = graph.degree(v) + reverse.degree(v);
+                starts[v] = (long) degree[v] << 32 | v;
+            }
+            Arrays.sort(starts);
+            int[] order = new int[n];
+            boolean[] seen = new boolean[n];
+            long[] neighbors = new long[16];
+            int count = 0;
+            for (long start : starts) {
+                int root = (int) start;
+                if (seen[root]) {
+                    continue;
+                }
+                seen[root] = true;
+                int head = count;
+                order[count++] = root;
+                while (head < count) {
+                    int u = order[head++];
+                    int found = 0;
+                    int total = graph.degree(u) + reverse.degree(u);
+                    if (neighbors.length < total) {
+                        neighbors = new long[Math.max(total, 2 * neighbors.length)];
+                    }
+                    for (CSRGraph<?> side : sides) {
+                        for (int e = side.edgeStart(u); e < side.edgeEnd(u); e++) {
+                            int v = side.target(e);
+                            if (!seen[v]) {
+                                seen[v] = true;
+                                neighbors[found++] = (long) degree[v] << 32 | v;
+                            }
+                        }
+                    }
+                    Arrays.sort(neighbors, 0, found);
+                    for (int i = 0; i < found; i++) {
+                        order[count++] = (int) neighbors[i];
+                    }
+                }
+            }
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            return invert(order);
+        }
+    };
+
+    /**
+     * Computes the new id of every vertex.
+     * @param graph the CSR graph to renumber
+     * @return permutation where permutation[oldId] is the new id
+     */
+    public abstract int[] permutation(CSRGraph<?> graph);
+
+    /**
+     * Appends the unseen out-neighbors of u to the order.
+     * @param graph the CSR graph to read edges from
+     * @param u     id of the vertex whose neighbors are visited
+     * @param seen  which vertices are already ordered
+     * @param order the order being built
+     * @param count the number of ordered vertices
+     * @return the new number of ordered vertices
+     */
+    private static int visit(CSRGraph<?> graph, int u, boolean[] seen,
+                             int[] order, int count) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+            int v = graph.target(e);
+            if (!seen[v]) {
+                seen[v] = true;
+                order[count++] = v;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Turns a list of old ids in new order into a permutation.
+     * @param order old ids, position i holding the vertex that gets id i
+     * @return permutation where permutation[oldId] is the new id
+     */
+    private static int[] invert(int[] order) {
+        int[] permutation = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permutation[order[i]] = i;
+        }
+        return permutation;
+    }
+}
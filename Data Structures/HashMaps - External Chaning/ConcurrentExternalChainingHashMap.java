@@ -0,0 +1,383 @@
+import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe ExternalChainingHashMap built from lock-striped segments.
+ * The spread hash code picks one of a power-of-two number of segments from
+ * its low bits and a bucket of that segment's table from the bits above.
+ * Every segment is a ReentrantLock guarding its own chained table, so
+ * writers only contend when they hit the same segment, and every segment
+ * resizes on its own while the others keep serving requests.
+ *
+ * Reads take no lock. Bucket heads live in an AtomicReferenceArray and
+ * chain links and values are volatile, so a get sees either the state
+ * before or after a concurrent write, never a half-linked chain. A resize
+ * copies the nodes into the new table instead of relinking them, so a
+ * reader still walking the old table finds every entry it held.
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ConcurrentExternalChainingHashMap<K, V> {
+
+    public static final int INITIAL_CAPACITY = 16;
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    public static final double MAX_LOAD_FACTOR = 0.67;
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs a new ConcurrentExternalChainingHashMap.
+     */
+    public ConcurrentExternalChainingHashMap() {
+        this(INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new ConcurrentExternalChainingHashMap.
+     * @param capacity         the initial capacity over all segments
+     * @param concurrencyLevel the expected number of concurrent writers,
+     *                         rounded up to a power of two segments
+     * @throws java.lang.IllegalArgumentException if capacity is negative or
+     *                                            concurrencyLevel is not
+     *                                            positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentExternalChainingHashMap(int capacity, int concurrencyLevel) {
+        if (capacity < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Capacity or concurrency level is invalid!");
+        }
+        int count = tableSizeFor(Math.min(concurrencyLevel, 1 << 16));
+        segmentShift = Integer.numberOfTrailingZeros(count);
+        segments = (Segment<K, V>[]) new Segment[count];
+        int perSegment = tableSizeFor((capacity + count - 1) / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one
+     * passed in. Only the segment of the key is locked.
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!");
+        }
+        int hash = ExternalChainingHashMap.spread(key.hashCode());
+        return segmentFor(hash).put(key, hash >>> segmentShift, value);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map. Only the segment
+     * of the key is locked.
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        }
+        int hash = ExternalChainingHashMap.spread(key.hashCode());
+        V removed = segmentFor(hash).remove(key, hash >>> segmentShift);
+        if (removed == null) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key without locking.
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        V value = lookup(key);
+        if (value == null) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether or not the key is in the map, without locking.
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        return lookup(key) != null;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map. Segments are read
+     * one at a time without locking, so writes made while the set is built
+     * may or may not be reflected.
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> n = table.get(i); n != null; n = n.next) {
+                    keys.add(n.key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a List of the values contained in this map, built with the
+     * same consistency as keySet.
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> data = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> n = table.get(i); n != null; n = n.next) {
+                    data.add(n.value);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Clears the map one segment at a time.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the size of the map, summed over the segments without
+     * locking. The result is exact when no write is in progress.
+     * @return the size of the map
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lock-striped segments.
+     * @return the number of segments
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Finds the value of a key without locking.
+     * @param key the key to search for
+     * @return the value of the key, or null if it is not in the map
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    private V lookup(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        }
+        int hash = ExternalChainingHashMap.spread(key.hashCode());
+        int bucketHash = hash >>> segmentShift;
+        AtomicReferenceArray<Node<K, V>> table = segmentFor(hash).table;
+        Node<K, V> n = table.get(bucketHash & (table.length() - 1));
+        for (; n != null; n = n.next) {
+            if (n.hash == bucketHash && n.key.equals(key)) {
+                return n.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the segment a spread hash code belongs to.
+     * @param hash the spread hash code of a key
+     * @return the segment of the key
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * Rounds a requested capacity up to a power of two, at least 1.
+     * @param capacity the requested capacity
+     * @return the table length to allocate
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Chain node. The key and hash never change; the value and link are
+     * volatile so lock-free readers see every write made under the lock.
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        /**
+         * Constructs a new Node.
+         * @param hash  the bucket hash of the key
+         * @param key   the key
+         * @param value the value
+         * @param next  the next node in the chain
+         */
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * One lock stripe: a chained hash table whose writers hold the lock.
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private volatile int count;
+
+        /**
+         * Constructs a new Segment.
+         * @param capacity the initial table length, a power of two
+         */
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Adds or replaces the value of a key, growing the table first if
+         * the new entry would exceed MAX_LOAD_FACTOR.
+         * @param key   the key to add
+         * @param hash  the bucket hash of the key
+         * @param value the value to add
+         * @return the old value, or null if the key was not in the segment
+         */
+        V put(K key, int hash, V value) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                for (Node<K, V> n = tab.get(index); n != null; n = n.next) {
+                    if (n.hash == hash && n.key.equals(key)) {
+                        V replace = n.value;
+                        n.value = value;
+                        return replace;
+                    }
+                }
+                if ((double) (count + 1) / (double) tab.length() > MAX_LOAD_FACTOR) {
+                    tab = resize(tab);
+                    index = hash & (tab.length() - 1);
+                }
+                tab.set(index, new Node<>(hash, key, value, tab.get(index)));
+                count++;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Unlinks the node of a key. Readers already on the node still
+         * follow its link to the rest of the chain.
+         * @param key  the key to remove
+         * @param hash the bucket hash of the key
+         * @return the removed value, or null if the key was not in the
+         * segment
+         */
+        V remove(K key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node<K, V> prev = null;
+                for (Node<K, V> n = tab.get(index); n != null; n = n.next) {
+                    if (n.hash == hash && n.key.equals(key)) {
+                        if (prev == null) {
+                            tab.set(index, n.next);
+                        } else {
+                            prev.next = n.next;
+                        }
+                        count--;
+                        return n.value;
+                    }
+                    prev = n;
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Empties the segment, keeping its current table length.
+         */
+        void clear() {
+            lock();
+            try {
+                table = new AtomicReferenceArray<>(table.length());
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Doubles the table. Nodes are copied rather than relinked, so the
+         * old table stays intact for readers that loaded it before the new
+         * one is published.
+         * @param old the current table
+         * @return the new table, already published
+         */
+        private AtomicReferenceArray<Node<K, V>> resize(
+                AtomicReferenceArray<Node<K, V>> old) {
+            int length = 2 * old.length();
+            AtomicReferenceArray<Node<K, V>> tab = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < old.length(); i++) {
+                for (Node<K, V> n = old.get(i); n != null; n = n.next) {
+                    int index = n.hash & (length - 1);
+                    tab.set(index, new Node<>(n.hash, n.key, n.value, tab.get(index)));
+                }
+            }
+            table = tab;
+            return tab;
+        }
+    }
+}
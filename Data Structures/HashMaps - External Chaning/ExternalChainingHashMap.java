@@ -1,15 +1,36 @@
 import java.util.List;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
 import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class ExternalChainingHashMap<K, V> {
 
     public static final int INITIAL_CAPACITY = 13;
+    public static final int POWER_OF_TWO_INITIAL_CAPACITY = 16;
     public static final double MAX_LOAD_FACTOR = 0.67;
+    public static final int MIGRATION_STEP = 8;
+    public static final int TREEIFY_THRESHOLD = 8;
+    public static final int UNTREEIFY_THRESHOLD = 6;
     private ExternalChainingMapEntry<K, V>[] table;
+    private ExternalChainingMapEntry<K, V>[] oldTable;
+    private int migrated;
     private int size;
+    private int modCount;
+    private final boolean powerOfTwo;
+    private final boolean incremental;
 
     /**
      * Constructs a new ExternalChainingHashMap.
@@ -23,8 +44,53 @@ public class ExternalChainingHashMap<K, V> {
      * @param capacity the initial capacity of the backing array
      */
     public ExternalChainingHashMap(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Constructs a new ExternalChainingHashMap in the given indexing mode.
+     *
+     * In the default mode a key lives in bucket |hashCode % length| and the
+     * table grows to 2 * length + 1, which relies on odd lengths to spread
+     * poor hash codes. In power-of-two mode the capacity is always a power
+     * of two, the hash code is first folded by spread so its low bits also
+     * reflect its high bits, and the bucket is picked with a mask instead
+     * of an integer division.
+     *
+     * @param capacity   the initial capacity of the backing array, rounded
+     *                   up to a power of two in power-of-two mode
+     * @param powerOfTwo true to use power-of-two capacities and mask-based
+     *                   indexing
+     */
+    public ExternalChainingHashMap(int capacity, boolean powerOfTwo) {
+        this(capacity, powerOfTwo, false);
+    }
+
+    /**
+     * Constructs a new ExternalChainingHashMap in the given indexing and
+     * resize modes.
+     *
+     * In incremental mode, crossing MAX_LOAD_FACTOR does not rehash the
+     * whole map inside one put. The full table is kept as the old table, a
+     * larger empty table takes its place, and every later put, get and
+     * remove moves the bucket its own key hashes to plus the next
+     * MIGRATION_STEP buckets of the old table. Doubling the table leaves
+     * about two thirds of its old length in puts before the next resize,
+     * far more than the length / MIGRATION_STEP operations the migration
+     * needs, so no operation touches more than a bounded number of buckets.
+     *
+     * @param capacity    the initial capacity of the backing array, rounded
+     *                    up to a power of two in power-of-two mode
+     * @param powerOfTwo  true to use power-of-two capacities and mask-based
+     *                    indexing
+     * @param incremental true to spread every resize over later operations
+     */
+    public ExternalChainingHashMap(int capacity, boolean powerOfTwo,
+                                   boolean incremental) {
+        this.powerOfTwo = powerOfTwo;
+        this.incremental = incremental;
         size = 0;
-        table = (ExternalChainingMapEntry<K, V>[]) new ExternalChainingMapEntry[capacity];        
+        table = newTable(powerOfTwo ? tableSizeFor(capacity) : capacity);
     }
 
     /**
@@ -40,6 +106,10 @@ public class ExternalChainingHashMap<K, V> {
      * one passed in. When replacing the old value, replace it at that position
      * in the chain, not by creating a new entry and adding it to the front.
      *
+     * A chain that reaches TREEIFY_THRESHOLD entries is rebuilt as an AVL
+     * tree of ExternalChainingTreeEntry, so a bucket flooded with colliding
+     * keys is searched in O(log n) instead of O(n).
+     *
      * @param key   the key to add
      * @param value the value to add
      * @return null if the key was not already in the map. If it was in the
@@ -50,19 +120,43 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null || value == null) {
             throw new IllegalArgumentException("Key or value is null!");
         }
+        int hash = key.hashCode();
+        migrate(hash);
         if ((double) (size + 1) / (double) table.length > MAX_LOAD_FACTOR) {
-            resizeBackingTable(2 * table.length + 1);
+            int length = powerOfTwo ? 2 * table.length : 2 * table.length + 1;
+            if (incremental) {
+                startMigration(length);
+                migrate(hash);
+            } else {
+                resizeBackingTable(length);
+            }
         }
         ExternalChainingMapEntry<K, V> add = new ExternalChainingMapEntry<>(key, value);
         V replace = null;
-        int hashing = Math.abs(key.hashCode() % table.length);
-        if (table[hashing] == null) {
+        int hashing = index(hash, table.length);
+        if (table[hashing] instanceof ExternalChainingTreeEntry) {
+            ExternalChainingTreeEntry<K, V> root = tree(table[hashing]);
+            ExternalChainingTreeEntry<K, V> found =
+                    ExternalChainingTreeEntry.find(root, hash, key);
+            if (found != null) {
+                replace = found.getValue();
+                found.setValue(value);
+                return replace;
+            }
+            table[hashing] = ExternalChainingTreeEntry.insert(root,
+                    new ExternalChainingTreeEntry<>(hash, key, value));
+            size++;
+            modCount++;
+        } else if (table[hashing] == null) {
             table[hashing] = add;
             size++;
+            modCount++;
         } else {
             ExternalChainingMapEntry<K, V> curr = table[hashing];
+            int length = 1;
             while (curr.getNext() != null && !curr.getKey().equals(key)) {
                 curr = curr.getNext();
+                length++;
             }
             if (curr.getKey().equals(key)) {
                 replace = curr.getValue();
@@ -72,6 +166,10 @@ public class ExternalChainingHashMap<K, V> {
                 add.setNext(table[hashing]);
                 table[hashing] = add;
                 size++;
+                modCount++;
+                if (length + 1 >= TREEIFY_THRESHOLD) {
+                    table[hashing] = ExternalChainingTreeEntry.treeify(add);
+                }
             }
         }
         return replace;
@@ -88,15 +186,35 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("Key is null!");
         }
-        int hashing = Math.abs(key.hashCode() % table.length);
+        int hash = key.hashCode();
+        migrate(hash);
+        int hashing = index(hash, table.length);
         V removed = null;
-        if (table[hashing] != null) {
+        if (table[hashing] instanceof ExternalChainingTreeEntry) {
+            ExternalChainingTreeEntry<K, V> root = tree(table[hashing]);
+            ExternalChainingTreeEntry<K, V> found =
+                    ExternalChainingTreeEntry.find(root, hash, key);
+            if (found != null) {
+                removed = found.getValue();
+                root = ExternalChainingTreeEntry.delete(root, found);
+                if (root != null && ExternalChainingTreeEntry.isSmall(root,
+                        UNTREEIFY_THRESHOLD)) {
+                    table[hashing] = ExternalChainingTreeEntry.untreeify(root);
+                } else {
+                    table[hashing] = root;
+                }
+                size--;
+                modCount++;
+                return removed;
+            }
+        } else if (table[hashing] != null) {
             ExternalChainingMapEntry<K, V> curr = table[hashing];
             ExternalChainingMapEntry<K, V> prev = null;
             if (curr.getKey().equals(key)) {
                 removed = table[hashing].getValue();
                 table[hashing] = curr.getNext();
                 size--;
+                modCount++;
                 return removed;
             }
             while (curr.getNext() != null && !curr.getKey().equals(key)) {
@@ -109,6 +227,7 @@ public class ExternalChainingHashMap<K, V> {
                     prev.setNext(curr.getNext());
                 }
                 size--;
+                modCount++;
                 return removed;
             }
         }
@@ -123,84 +242,129 @@ public class ExternalChainingHashMap<K, V> {
      * @throws java.util.NoSuchElementException   if the key is not in the map
      */
     public V get(K key) {
-        if (key == null) {
-            throw new IllegalArgumentException("Key is null!");
-        } else if (size == 0) {
+        ExternalChainingMapEntry<K, V> entry = findEntry(key);
+        if (entry == null) {
             throw new NoSuchElementException("Key is not in the map!");
         }
-        int hashing = Math.abs(key.hashCode() % table.length);
-        ExternalChainingMapEntry<K, V> curr = table[hashing];
-        if (curr != null) {
-            while (curr != null && !curr.getKey().equals(key)) {
-                curr = curr.getNext();
-            }
-            if (curr != null) {
-                return curr.getValue();
-            }
-        }
-        throw new NoSuchElementException("Key is not in the map!");
+        return entry.getValue();
+    }
+
+    /**
+     * Gets the value associated with the given key, or defaultValue if the
+     * key is not in the map. Unlike get, a miss neither throws nor
+     * allocates, which suits lookups that are expected to miss often.
+     * @param key          the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        ExternalChainingMapEntry<K, V> entry = findEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
     }
 
     /**
-     * Returns whether or not the key is in the map.
+     * Returns whether or not the key is in the map. The bucket of the key
+     * is searched once and a miss does not throw or allocate.
      * @param key the key to search for in the map
      * @return true if the key is contained within the map, false
      * otherwise
      * @throws java.lang.IllegalArgumentException if key is null
      */
     public boolean containsKey(K key) {
-        try {
-            get(key);
-        } catch (NoSuchElementException e) {
-            return false;
-        }
-        return true;
+        return findEntry(key) != null;
     }
 
     /**
-     * Returns a Set view of the keys contained in this map.
-     * @return the set of keys in this map
+     * Returns a Set of the keys contained in this map. The set is a copy;
+     * keyView iterates the keys without copying them.
+     * @return set of keys in this map
      */
     public Set<K> keySet() {
         Set<K> keys = new HashSet<>();
-        if (size == 0) {
-            return keys;
-        }
-        for (ExternalChainingMapEntry curr : table) {
-            if (curr != null) {
-                keys.add((K) curr.getKey());
-                while (curr.getNext() != null) {
-                    curr = curr.getNext();
-                    keys.add((K) curr.getKey());
-                }
-            }
-        }
+        forEach((key, value) -> keys.add(key));
         return keys;
     }
 
     /**
-     * Returns a List view of the values contained in this map.
+     * Returns a live Set view of the keys contained in this map. The view
+     * walks the backing table directly, so creating and iterating it copies
+     * nothing; it reflects every later change to the map. Keys can be
+     * removed through the view but not added.
+     *
+     * In incremental mode, creating an iterator or spliterator of the view
+     * first finishes any resize in progress, an O(n) step, since a
+     * migration step during the walk could move an entry already visited
+     * ahead of the cursor. Later resizes are incremental again.
+     * @return the keys in this map
+     */
+    public Set<K> keyView() {
+        return new KeySet();
+    }
+
+    /**
+     * Returns a List of the values contained in this map. The list is a
+     * copy; valueView iterates the values without copying them.
      * @return list of values in this map
      */
     public List<V> values() {
-        ArrayList<V> data = new ArrayList<>();
-        if (size == 0) {
-            return data;
-        }
-        for (ExternalChainingMapEntry curr : table) {
-            if (curr != null) {
-                data.add((V) curr.getValue());
-                while (curr.getNext() != null) {
-                    curr = curr.getNext();
-                    data.add((V) curr.getValue());
-                }
+        List<V> data = new ArrayList<>(size);
+        forEach((key, value) -> data.add(value));
+        return data;
+    }
+
+    /**
+     * Returns a live Collection view of the values contained in this map,
+     * walking the backing table directly like keyView. Like keyView, its
+     * iterators first finish any resize in progress.
+     * @return the values in this map
+     */
+    public Collection<V> valueView() {
+        return new ValueCollection();
+    }
+
+    /**
+     * Returns a live Set view of the entries of this map, walking the
+     * backing table directly like keyView. Each entry handed out is a
+     * Map.Entry over the backing entry, so its key cannot be changed in
+     * place; setting its value updates the map. Like keyView, its
+     * iterators first finish any resize in progress.
+     * @return the entries of this map
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Performs the action on every key-value pair, walking the backing
+     * table without creating an iterator or copying anything. Like the
+     * views, it first finishes any resize in progress.
+     * @param action the action to perform
+     * @throws java.lang.IllegalArgumentException        if action is null
+     * @throws java.util.ConcurrentModificationException if the action
+     *                                                   changes the map
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action is null!");
+        }
+        finishMigration();
+        int expected = modCount;
+        for (ExternalChainingMapEntry<K, V> head : table) {
+            for (ExternalChainingMapEntry<K, V> curr = head; curr != null;
+                    curr = curr.getNext()) {
+                action.accept(curr.getKey(), curr.getValue());
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
             }
         }
-        return data;
     }
 
     /**
-     * Resize the backing table to length.
+     * Resize the backing table to length, rounded up to a power of two in
+     * power-of-two mode. Every entry of every chain is moved to the bucket
+     * it hashes to in the new table.
      * @param length new length of the backing table
      * @throws java.lang.IllegalArgumentException if length is less than the
      *                                            number of items in the hash
@@ -210,22 +374,20 @@ public class ExternalChainingHashMap<K, V> {
         if (length < size) {
             throw new IllegalArgumentException("Length is less than the number of items!");
         }
-        ExternalChainingMapEntry<K, V>[] newTable = new ExternalChainingMapEntry[length];
-        int newSize = 0;
-        for (ExternalChainingMapEntry<K, V> curr : table) {
-            if (curr != null) {
-                int hashing = Math.abs(curr.getKey().hashCode() % length);
-                if (newTable[hashing] == null) {
-                    newTable[hashing] = curr;
-                    newSize++;
-                } else {
-                    curr.setNext(newTable[hashing]);
-                    newTable[hashing] = curr;
-                    newSize++;
-                }
+        if (powerOfTwo) {
+            length = tableSizeFor(length);
+        }
+        finishMigration();
+        modCount++;
+        ExternalChainingMapEntry<K, V>[] newTable = newTable(length);
+        for (ExternalChainingMapEntry<K, V> head : table) {
+            ExternalChainingMapEntry<K, V> curr = head;
+            while (curr != null) {
+                ExternalChainingMapEntry<K, V> next = curr.getNext();
+                transfer(curr, newTable);
+                curr = next;
             }
         }
-        size = newSize;
         table = newTable;
     }
 
@@ -234,14 +396,18 @@ public class ExternalChainingHashMap<K, V> {
      */
     public void clear() {
         size = 0;
-        table = (ExternalChainingMapEntry<K, V>[]) new ExternalChainingMapEntry[INITIAL_CAPACITY];
+        modCount++;
+        oldTable = null;
+        table = newTable(powerOfTwo ? POWER_OF_TWO_INITIAL_CAPACITY : INITIAL_CAPACITY);
     }
 
     /**
-     * Returns the table of the map.
+     * Returns the table of the map, first finishing any resize in progress
+     * so every entry is in it.
      * @return the table of the map
      */
     public ExternalChainingMapEntry<K, V>[] getTable() {
+        finishMigration();
         return table;
     }
 
@@ -252,4 +418,593 @@ public class ExternalChainingHashMap<K, V> {
     public int size() {
         return size;
     }
+
+    /**
+     * Finds the entry of a key by searching its bucket once, as a chain or
+     * as a tree.
+     * @param key the key to search for
+     * @return the entry of the key, or null if it is not in the map
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    private ExternalChainingMapEntry<K, V> findEntry(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        } else if (size == 0) {
+            return null;
+        }
+        int hash = key.hashCode();
+        migrate(hash);
+        ExternalChainingMapEntry<K, V> curr = table[index(hash, table.length)];
+        if (curr instanceof ExternalChainingTreeEntry) {
+            return ExternalChainingTreeEntry.find(tree(curr), hash, key);
+        }
+        while (curr != null && !curr.getKey().equals(key)) {
+            curr = curr.getNext();
+        }
+        return curr;
+    }
+
+    /**
+     * Returns whether the map uses power-of-two capacities and mask-based
+     * indexing.
+     * @return true if the map is in power-of-two mode
+     */
+    public boolean isPowerOfTwo() {
+        return powerOfTwo;
+    }
+
+    /**
+     * Returns whether the map spreads its resizes over later operations.
+     * @return true if the map is in incremental mode
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns whether a resize is in progress, with some entries still in
+     * the old table.
+     * @return true if the old table has not been fully migrated
+     */
+    public boolean isMigrating() {
+        return oldTable != null;
+    }
+
+    /**
+     * Begins an incremental resize. The current table becomes the old
+     * table and an empty table of the new length takes its place. A resize
+     * still in progress is finished first.
+     * @param length the length of the new table
+     */
+    private void startMigration(int length) {
+        finishMigration();
+        modCount++;
+        oldTable = table;
+        table = newTable(powerOfTwo ? tableSizeFor(length) : length);
+        migrated = 0;
+    }
+
+    /**
+     * Advances a resize in progress before an operation on a key: the old
+     * bucket of the key is moved so the key can only be in the new table,
+     * then up to MIGRATION_STEP more old buckets are moved in order.
+     * @param hash the hash code of the key about to be used
+     */
+    private void migrate(int hash) {
+        if (oldTable == null) {
+            return;
+        }
+        moveBucket(index(hash, oldTable.length));
+        int end = Math.min(oldTable.length, migrated + MIGRATION_STEP);
+        for (; migrated < end; migrated++) {
+            moveBucket(migrated);
+        }
+        if (migrated == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Moves every remaining bucket of the old table into the new one.
+     */
+    private void finishMigration() {
+        if (oldTable == null) {
+            return;
+        }
+        for (; migrated < oldTable.length; migrated++) {
+            moveBucket(migrated);
+        }
+        oldTable = null;
+    }
+
+    /**
+     * Moves the chain of one old bucket into the new table. Buckets already
+     * moved are empty, so moving one twice does nothing.
+     * @param bucket the index of the bucket in the old table
+     */
+    private void moveBucket(int bucket) {
+        ExternalChainingMapEntry<K, V> curr = oldTable[bucket];
+        oldTable[bucket] = null;
+        while (curr != null) {
+            ExternalChainingMapEntry<K, V> next = curr.getNext();
+            transfer(curr, table);
+            curr = next;
+        }
+    }
+
+    /**
+     * Moves one entry into the bucket it hashes to in another table. Plain
+     * entries are relinked; entries leaving or joining a tree are copied,
+     * since tree entries and chain entries cannot be mixed in one bucket.
+     * A chain that reaches TREEIFY_THRESHOLD is treeified.
+     * @param entry the entry to move, already detached from its old bucket
+     *              or about to be dropped with it
+     * @param dest  the table to move it into
+     */
+    private void transfer(ExternalChainingMapEntry<K, V> entry,
+                          ExternalChainingMapEntry<K, V>[] dest) {
+        K key = entry.getKey();
+        int hash = key.hashCode();
+        int hashing = index(hash, dest.length);
+        ExternalChainingMapEntry<K, V> head = dest[hashing];
+        if (head instanceof ExternalChainingTreeEntry) {
+            dest[hashing] = ExternalChainingTreeEntry.insert(tree(head),
+                    new ExternalChainingTreeEntry<>(hash, key, entry.getValue()));
+            return;
+        }
+        if (entry instanceof ExternalChainingTreeEntry) {
+            entry = new ExternalChainingMapEntry<>(key, entry.getValue());
+        }
+        entry.setNext(head);
+        dest[hashing] = entry;
+        int length = 0;
+        for (ExternalChainingMapEntry<K, V> curr = entry;
+                curr != null && length < TREEIFY_THRESHOLD; curr = curr.getNext()) {
+            length++;
+        }
+        if (length >= TREEIFY_THRESHOLD) {
+            dest[hashing] = ExternalChainingTreeEntry.treeify(entry);
+        }
+    }
+
+    /**
+     * Casts the head of a treeified bucket to its root.
+     * @param head the head of the bucket
+     * @return the root of the bucket's tree
+     */
+    private ExternalChainingTreeEntry<K, V> tree(ExternalChainingMapEntry<K, V> head) {
+        return (ExternalChainingTreeEntry<K, V>) head;
+    }
+
+    /**
+     * Returns the bucket of a hash code in a table of the given length.
+     * @param hash   the hash code of a key
+     * @param length the length of the table
+     * @return the bucket index in [0, length)
+     */
+    private int index(int hash, int length) {
+        if (powerOfTwo) {
+            return spread(hash) & (length - 1);
+        }
+        return Math.abs(hash % length);
+    }
+
+    /**
+     * Folds the high half of a hash code into its low half, so keys whose
+     * hash codes differ only above the mask still land in different
+     * buckets. Sequential Integers and short Strings keep their low bits,
+     * and with them their spread across neighboring buckets, which a full
+     * multiplicative mix would scatter across the table.
+     * @param hash the hash code to spread
+     * @return the spread hash code
+     */
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Rounds a requested capacity up to a power of two, at least 1.
+     * @param capacity the requested capacity
+     * @return the table length to allocate
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Allocates an empty backing table.
+     * @param length the length of the table
+     * @return the new table
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> ExternalChainingMapEntry<K, V>[] newTable(int length) {
+        return (ExternalChainingMapEntry<K, V>[]) new ExternalChainingMapEntry[length];
+    }
+
+    /**
+     * Live view of the keys of the map.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new TableIterator<>(ExternalChainingMapEntry::getKey);
+        }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return tableSpliterator(ExternalChainingMapEntry::getKey,
+                    Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return o != null && findEntry((K) o) != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            ExternalChainingHashMap.this.remove((K) o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+    }
+
+    /**
+     * Live view of the values of the map.
+     */
+    private final class ValueCollection extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new TableIterator<>(ExternalChainingMapEntry::getValue);
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return tableSpliterator(ExternalChainingMapEntry::getValue,
+                    Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+    }
+
+    /**
+     * Live view of the entries of the map.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new TableIterator<>(ViewEntry::new);
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return tableSpliterator(ViewEntry::new,
+                    Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+    }
+
+    /**
+     * Entry handed out by the entry view. It holds only the backing entry:
+     * getKey and getValue read through to it and setValue writes through,
+     * so nothing is copied. It has no setKey, so a caller cannot move a key
+     * out of the bucket it hashes to.
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class ViewEntry<K, V> implements Map.Entry<K, V> {
+
+        private final ExternalChainingMapEntry<K, V> entry;
+
+        /**
+         * Constructs a new ViewEntry over a backing entry.
+         * @param entry the entry in the table
+         */
+        ViewEntry(ExternalChainingMapEntry<K, V> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return entry.getValue();
+        }
+
+        /**
+         * Replaces the value of the backing entry.
+         * @param value the new value
+         * @return the old value
+         * @throws java.lang.IllegalArgumentException if value is null
+         */
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Value is null!");
+            }
+            V old = entry.getValue();
+            entry.setValue(value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return getKey().equals(other.getKey())
+                    && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * Creates a spliterator over the whole backing table, finishing any
+     * resize in progress first so every entry is in the table.
+     * @param <E>             the type of the elements
+     * @param mapper          turns an entry into an element
+     * @param characteristics the characteristics of the elements
+     * @return the spliterator
+     */
+    private <E> Spliterator<E> tableSpliterator(
+            Function<ExternalChainingMapEntry<K, V>, E> mapper, int characteristics) {
+        finishMigration();
+        return new TableSpliterator<>(table, 0, table.length, size, modCount,
+                mapper, characteristics);
+    }
+
+    /**
+     * Iterator that walks every bucket of the backing table in order. It
+     * fails fast if the map is structurally modified during iteration,
+     * other than through its own remove.
+     *
+     * Removing from a chain only unlinks the entry, so the rest of the
+     * chain is still reached through next. Removing from a tree keeps every
+     * other entry, but it can move an entry the iterator has not reached to
+     * the head of the thread as the new root, or turn the tree back into a
+     * chain of new entries, so the keys left in that bucket are saved first
+     * and their entries looked up again as the iterator reaches them.
+     * @param <E> the type of the elements
+     */
+    private final class TableIterator<E> implements Iterator<E> {
+
+        private final ExternalChainingMapEntry<K, V>[] tab;
+        private final Function<ExternalChainingMapEntry<K, V>, E> mapper;
+        private int expected;
+        private ExternalChainingMapEntry<K, V> next;
+        private ExternalChainingMapEntry<K, V> last;
+        private boolean sameBucket;
+        private ArrayDeque<K> pending;
+        private int bucket;
+
+        /**
+         * Constructs a new TableIterator positioned at the first entry,
+         * finishing any resize in progress first so every entry is in the
+         * table.
+         * @param mapper turns an entry into an element
+         */
+        TableIterator(Function<ExternalChainingMapEntry<K, V>, E> mapper) {
+            finishMigration();
+            this.tab = table;
+            this.mapper = mapper;
+            this.expected = modCount;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            } else if (next == null) {
+                throw new NoSuchElementException("No more entries!");
+            }
+            ExternalChainingMapEntry<K, V> curr = next;
+            if (pending == null) {
+                next = curr.getNext();
+            } else if (pending.isEmpty()) {
+                pending = null;
+                next = null;
+            } else {
+                next = findEntry(pending.poll());
+            }
+            sameBucket = next != null;
+            advance();
+            last = curr;
+            return mapper.apply(curr);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("No entry to remove!");
+            } else if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            ArrayDeque<K> rest = null;
+            if (sameBucket && (pending != null
+                    || next instanceof ExternalChainingTreeEntry)) {
+                rest = new ArrayDeque<>();
+                rest.add(next.getKey());
+                if (pending != null) {
+                    rest.addAll(pending);
+                } else {
+                    for (ExternalChainingMapEntry<K, V> curr = next.getNext();
+                            curr != null; curr = curr.getNext()) {
+                        rest.add(curr.getKey());
+                    }
+                }
+            }
+            ExternalChainingHashMap.this.remove(last.getKey());
+            last = null;
+            expected = modCount;
+            if (rest != null) {
+                next = findEntry(rest.poll());
+                pending = rest;
+            }
+        }
+
+        /**
+         * Moves next to the head of the next non-empty bucket if the
+         * current chain is used up.
+         */
+        private void advance() {
+            while (next == null && bucket < tab.length) {
+                next = tab[bucket++];
+            }
+        }
+    }
+
+    /**
+     * Spliterator over a range of buckets of a backing table. trySplit
+     * hands off the first half of the remaining buckets, so a parallel
+     * stream scans disjoint slices of the table without copying it.
+     * @param <E> the type of the elements
+     */
+    private final class TableSpliterator<E> implements Spliterator<E> {
+
+        private final ExternalChainingMapEntry<K, V>[] tab;
+        private final Function<ExternalChainingMapEntry<K, V>, E> mapper;
+        private final int characteristics;
+        private final int expected;
+        private final int fence;
+        private ExternalChainingMapEntry<K, V> curr;
+        private int index;
+        private long estimate;
+
+        /**
+         * Constructs a new TableSpliterator.
+         * @param tab             the backing table to scan
+         * @param index           the first bucket of the range
+         * @param fence           one past the last bucket of the range
+         * @param estimate        the estimated number of entries in range
+         * @param expected        the modification count to check against
+         * @param mapper          turns an entry into an element
+         * @param characteristics the characteristics of the elements
+         */
+        TableSpliterator(ExternalChainingMapEntry<K, V>[] tab, int index,
+                         int fence, long estimate, int expected,
+                         Function<ExternalChainingMapEntry<K, V>, E> mapper,
+                         int characteristics) {
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expected = expected;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (curr != null || mid <= index) {
+                return null;
+            }
+            estimate >>>= 1;
+            Spliterator<E> prefix = new TableSpliterator<>(tab, index, mid,
+                    estimate, expected, mapper, characteristics);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            while (curr == null && index < fence) {
+                curr = tab[index++];
+            }
+            if (curr == null) {
+                return false;
+            }
+            ExternalChainingMapEntry<K, V> entry = curr;
+            curr = curr.getNext();
+            action.accept(mapper.apply(entry));
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            for (; curr != null; curr = curr.getNext()) {
+                action.accept(mapper.apply(curr));
+            }
+            for (; index < fence; index++) {
+                for (ExternalChainingMapEntry<K, V> entry = tab[index];
+                        entry != null; entry = entry.getNext()) {
+                    action.accept(mapper.apply(entry));
+                }
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
 }
@@ -0,0 +1,244 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Self-checking driver for the treeified buckets and the entry view of
+ * ExternalChainingHashMap.
+ * It needs nothing beyond the JDK: compile the directory with javac and run
+ * {@code java ExternalChainingHashMapCheck}. Any failed check throws an
+ * AssertionError.
+ */
+public final class ExternalChainingHashMapCheck {
+
+    private static final int ORDERS = 2000;
+    private static final int STORM_SIZE = 4096;
+
+    /**
+     * Prevents instantiation.
+     */
+    private ExternalChainingHashMapCheck() {
+    }
+
+    /**
+     * Runs every check.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        checkMixedClassCollisions();
+        checkCollisionStorm();
+        checkEntryView();
+        System.out.println("All checks passed.");
+    }
+
+    /**
+     * Treeifies a bucket holding 16 Strings that share one hash code plus a
+     * Long, an Integer and a plain Object with the same hash code, and
+     * checks over many shuffled insert and remove orders that every key is
+     * found and that putting a key again never adds a duplicate.
+     */
+    private static void checkMixedClassCollisions() {
+        List<Object> keys = new ArrayList<>(collidingStrings());
+        final int hash = keys.get(0).hashCode();
+        keys.add(hash & 0xFFFFFFFFL);
+        keys.add(hash);
+        keys.add(new Object() {
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+        });
+        for (Object key : keys) {
+            check(key.hashCode() == hash, "Key " + key + " has another hash");
+        }
+
+        Random random = new Random(1332);
+        for (int order = 0; order < ORDERS; order++) {
+            Collections.shuffle(keys, random);
+            ExternalChainingHashMap<Object, Integer> map =
+                    new ExternalChainingHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                map.put(keys.get(i), i);
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                check(map.containsKey(keys.get(i)), "Lost key " + keys.get(i));
+                check(map.get(keys.get(i)) == i, "Wrong value for " + keys.get(i));
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                check(map.put(keys.get(i), -i) == i, "Duplicate " + keys.get(i));
+            }
+            check(map.size() == keys.size(), "Size grew on re-put");
+
+            Collections.shuffle(keys, random);
+            for (int i = 0; i < keys.size(); i++) {
+                map.remove(keys.get(i));
+                check(!map.containsKey(keys.get(i)), "Kept " + keys.get(i));
+                for (int j = i + 1; j < keys.size(); j++) {
+                    check(map.containsKey(keys.get(j)), "Lost key " + keys.get(j));
+                }
+            }
+            check(map.size() == 0, "Map not empty after removing every key");
+        }
+    }
+
+    /**
+     * Puts STORM_SIZE keys that all share one hash code and checks that no
+     * lookup, hit or miss, makes more than an equals and a compareTo call
+     * per level of an AVL tree of that size. A plain chain would call
+     * equals on every key.
+     */
+    private static void checkCollisionStorm() {
+        ExternalChainingHashMap<StormKey, Integer> map =
+                new ExternalChainingHashMap<>();
+        for (int i = 0; i < STORM_SIZE; i++) {
+            map.put(new StormKey(i * 2), i);
+        }
+        int height = (int) Math.ceil(1.45 * Math.log(STORM_SIZE + 2) / Math.log(2));
+        int bound = 2 * height;
+        int worst = 0;
+        for (int i = 0; i < 2 * STORM_SIZE; i++) {
+            StormKey key = new StormKey(i);
+            StormKey.comparisons = 0;
+            boolean found = map.containsKey(key);
+            worst = Math.max(worst, StormKey.comparisons);
+            check(found == (i % 2 == 0), "Wrong lookup for " + i);
+        }
+        check(worst <= bound, "Lookup made " + worst
+                + " comparisons, bound is " + bound);
+        System.out.println("Collision storm of " + STORM_SIZE + " keys: at most "
+                + worst + " comparisons per lookup, bound " + bound);
+    }
+
+    /**
+     * Fills an incremental map far enough to leave a resize in progress,
+     * then checks that every entry of the entry view is seen once and that
+     * setValue writes through to the map and returns the old value. Then
+     * walks a treeified bucket, removing every other entry through the
+     * iterator and setting the value of the rest, and checks that every
+     * entry handed out keeps its own key and value throughout.
+     */
+    private static void checkEntryView() {
+        ExternalChainingHashMap<Integer, Integer> map =
+                new ExternalChainingHashMap<>(4, false, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        int seen = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            int key = entry.getKey();
+            check(entry.setValue(-key) == key, "Wrong old value for " + key);
+            check(entry.getValue() == -key, "Entry did not update for " + key);
+            seen++;
+        }
+        check(seen == map.size(), "Entry view saw " + seen + " entries");
+        for (int i = 0; i < 100; i++) {
+            check(map.get(i) == -i, "Map did not update for " + i);
+        }
+
+        List<String> keys = collidingStrings();
+        ExternalChainingHashMap<String, Integer> tree =
+                new ExternalChainingHashMap<>(64, true);
+        for (int i = 0; i < keys.size(); i++) {
+            tree.put(keys.get(i), i);
+        }
+        List<Map.Entry<String, Integer>> handed = new ArrayList<>();
+        List<String> handedKeys = new ArrayList<>();
+        List<Integer> handedValues = new ArrayList<>();
+        Iterator<Map.Entry<String, Integer>> it = tree.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> entry = it.next();
+            int value = keys.indexOf(entry.getKey());
+            check(entry.getValue() == value, "Wrong value for " + entry.getKey());
+            if (handed.size() % 2 == 0) {
+                it.remove();
+            } else {
+                check(entry.setValue(-value) == value, "Wrong old value for "
+                        + entry.getKey());
+                value = -value;
+            }
+            handed.add(entry);
+            handedKeys.add(entry.getKey());
+            handedValues.add(value);
+            for (int i = 0; i < handed.size(); i++) {
+                check(handed.get(i).getKey().equals(handedKeys.get(i)),
+                        "Entry for " + handedKeys.get(i) + " changed key to "
+                        + handed.get(i).getKey());
+                check(handed.get(i).getValue().equals(handedValues.get(i)),
+                        "Entry for " + handedKeys.get(i) + " changed value");
+            }
+        }
+        check(handed.size() == keys.size(), "Tree view saw " + handed.size()
+                + " entries");
+        check(tree.size() == keys.size() / 2, "Tree kept " + tree.size()
+                + " entries");
+        for (int i = 1; i < handed.size(); i += 2) {
+            check(tree.get(handedKeys.get(i)).equals(handedValues.get(i)),
+                    "Map did not update for " + handedKeys.get(i));
+        }
+    }
+
+    /**
+     * Builds 16 Strings of "Aa" and "BB" pairs that all share one hash code.
+     * @return the colliding Strings
+     */
+    private static List<String> collidingStrings() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 4; bit++) {
+                key.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+
+    /**
+     * Throws an AssertionError with the message if the condition is false.
+     * @param condition the condition that must hold
+     * @param message   the message of the error
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Comparable key whose hash code is always 0, counting every equals and
+     * compareTo call made on it.
+     */
+    private static final class StormKey implements Comparable<StormKey> {
+
+        private static int comparisons;
+        private final int id;
+
+        /**
+         * Constructs a new StormKey.
+         * @param id the value that tells keys apart
+         */
+        StormKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            comparisons++;
+            return o instanceof StormKey && ((StormKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(StormKey o) {
+            comparisons++;
+            return Integer.compare(id, o.id);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/**
+ * Entry of a treeified bucket of ExternalChainingHashMap. Once a chain
+ * reaches TREEIFY_THRESHOLD entries it is rebuilt as an AVL tree of these
+ * entries, using the same update, rotate and balance steps as the AVL
+ * class, so lookups in a bucket full of colliding keys take O(log n).
+ *
+ * Entries are kept in one total order: by hash code, then by class name,
+ * then by compareTo when both keys are Comparable instances of the same
+ * class, then by identity hash code, as java.util.HashMap breaks ties. A
+ * search for a key cannot use the identity hash code, and keys of different
+ * classes may still be equal, so find only follows compareTo between keys
+ * of the same class and looks down both sides wherever that cannot decide.
+ *
+ * The entries also stay threaded through next and prev, with the root
+ * always at the head of the thread. The root is what the table holds, so
+ * code that walks a bucket with getNext visits every entry whether the
+ * bucket is a tree or a plain chain.
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+class ExternalChainingTreeEntry<K, V> extends ExternalChainingMapEntry<K, V> {
+
+    private final int hash;
+    private ExternalChainingTreeEntry<K, V> left;
+    private ExternalChainingTreeEntry<K, V> right;
+    private ExternalChainingTreeEntry<K, V> prev;
+    private int height;
+    private int balanceFactor;
+
+    /**
+     * Constructs a new ExternalChainingTreeEntry.
+     * @param hash  the hash code of the key
+     * @param key   the key in the new entry
+     * @param value the value in the new entry
+     */
+    ExternalChainingTreeEntry(int hash, K key, V value) {
+        super(key, value);
+        this.hash = hash;
+    }
+
+    /**
+     * Builds a tree out of a plain chain.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param chain the head of the chain
+     * @return the root of the tree, at the head of its thread
+     */
+    static <K, V> ExternalChainingTreeEntry<K, V> treeify(
+            ExternalChainingMapEntry<K, V> chain) {
+        ExternalChainingTreeEntry<K, V> root = null;
+        for (ExternalChainingMapEntry<K, V> curr = chain; curr != null;
+                curr = curr.getNext()) {
+            root = insert(root, new ExternalChainingTreeEntry<>(
+                    curr.getKey().hashCode(), curr.getKey(), curr.getValue()));
+        }
+        return root;
+    }
+
+    /**
+     * Turns a tree back into a plain chain, in thread order.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param root the root of the tree
+     * @return the head of the chain
+     */
+    static <K, V> ExternalChainingMapEntry<K, V> untreeify(
+            ExternalChainingTreeEntry<K, V> root) {
+        ExternalChainingMapEntry<K, V> head = null;
+        ExternalChainingMapEntry<K, V> tail = null;
+        for (ExternalChainingMapEntry<K, V> curr = root; curr != null;
+                curr = curr.getNext()) {
+            ExternalChainingMapEntry<K, V> entry =
+                    new ExternalChainingMapEntry<>(curr.getKey(), curr.getValue());
+            if (head == null) {
+                head = entry;
+            } else {
+                tail.setNext(entry);
+            }
+            tail = entry;
+        }
+        return head;
+    }
+
+    /**
+     * Returns whether a tree has shrunk to at most threshold entries. An
+     * AVL tree of height 2 or less holds at most 7 entries, so taller trees
+     * are rejected without walking them.
+     * @param <K>       the type of the keys
+     * @param <V>       the type of the values
+     * @param root      the root of the tree
+     * @param threshold the entry count to compare against, below 7
+     * @return true if the tree has at most threshold entries
+     */
+    static <K, V> boolean isSmall(ExternalChainingTreeEntry<K, V> root,
+                                  int threshold) {
+        if (root.height > 2) {
+            return false;
+        }
+        int count = 0;
+        for (ExternalChainingMapEntry<K, V> curr = root; curr != null;
+                curr = curr.getNext()) {
+            count++;
+        }
+        return count <= threshold;
+    }
+
+    /**
+     * Finds the entry with the given key.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param curr the root of the subtree to search
+     * @param hash the hash code of the key
+     * @param key  the key to search for
+     * @return the entry of the key, or null if it is not in the tree
+     */
+    static <K, V> ExternalChainingTreeEntry<K, V> find(
+            ExternalChainingTreeEntry<K, V> curr, int hash, Object key) {
+        while (curr != null) {
+            if (hash != curr.hash) {
+                curr = hash < curr.hash ? curr.left : curr.right;
+                continue;
+            }
+            if (key.equals(curr.getKey())) {
+                return curr;
+            }
+            int compare = compareComparables(key, curr.getKey());
+            if (compare < 0) {
+                curr = curr.left;
+            } else if (compare > 0) {
+                curr = curr.right;
+            } else {
+                ExternalChainingTreeEntry<K, V> found = find(curr.right, hash, key);
+                if (found != null) {
+                    return found;
+                }
+                curr = curr.left;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds an entry whose key is not yet in the tree.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param root  the root of the tree, or null if it is empty
+     * @param entry the new entry
+     * @return the new root, at the head of the thread
+     */
+    static <K, V> ExternalChainingTreeEntry<K, V> insert(
+            ExternalChainingTreeEntry<K, V> root,
+            ExternalChainingTreeEntry<K, V> entry) {
+        if (root == null) {
+            return entry;
+        }
+        ExternalChainingTreeEntry<K, V> after = thread(root.getNext());
+        entry.setNext(after);
+        entry.prev = root;
+        if (after != null) {
+            after.prev = entry;
+        }
+        root.setNext(entry);
+        return moveToFront(root, add(root, entry));
+    }
+
+    /**
+     * Removes an entry found in the tree.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param root  the root of the tree
+     * @param entry the entry to remove
+     * @return the new root at the head of the thread, or null if the tree
+     * is now empty
+     */
+    static <K, V> ExternalChainingTreeEntry<K, V> delete(
+            ExternalChainingTreeEntry<K, V> root,
+            ExternalChainingTreeEntry<K, V> entry) {
+        ExternalChainingTreeEntry<K, V> newRoot = remove(root, entry);
+        ExternalChainingTreeEntry<K, V> head = root;
+        if (entry == head) {
+            head = thread(head.getNext());
+        }
+        unlink(entry);
+        return newRoot == null ? null : moveToFront(head, newRoot);
+    }
+
+    /**
+     * Helps to add the entry below curr.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param curr  current node
+     * @param entry the entry to add
+     * @return the root of the balanced subtree
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> add(
+            ExternalChainingTreeEntry<K, V> curr,
+            ExternalChainingTreeEntry<K, V> entry) {
+        if (curr == null) {
+            return entry;
+        }
+        if (compare(entry.hash, entry.getKey(), curr) < 0) {
+            curr.left = add(curr.left, entry);
+        } else {
+            curr.right = add(curr.right, entry);
+        }
+        update(curr);
+        return balance(curr);
+    }
+
+    /**
+     * Helps to remove the given entry from below curr. When the entry has
+     * two children, its predecessor node is spliced into its place, so
+     * every entry left in the tree keeps its own key and value and an
+     * outside reference to one never starts pointing at another mapping.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param curr  current node
+     * @param entry the entry to remove
+     * @return the root of the balanced subtree
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> remove(
+            ExternalChainingTreeEntry<K, V> curr,
+            ExternalChainingTreeEntry<K, V> entry) {
+        if (curr == entry) {
+            if (curr.left == null) {
+                return curr.right;
+            } else if (curr.right == null) {
+                return curr.left;
+            }
+            ExternalChainingTreeEntry<K, V> predecessor = curr.left;
+            while (predecessor.right != null) {
+                predecessor = predecessor.right;
+            }
+            predecessor.left = removeMax(curr.left);
+            predecessor.right = curr.right;
+            curr.left = null;
+            curr.right = null;
+            curr = predecessor;
+        } else {
+            int compare = compare(entry.hash, entry.getKey(), curr);
+            if (compare < 0 || compare == 0 && holds(curr.left, entry)) {
+                curr.left = remove(curr.left, entry);
+            } else {
+                curr.right = remove(curr.right, entry);
+            }
+        }
+        update(curr);
+        return balance(curr);
+    }
+
+    /**
+     * Unhooks the rightmost entry below curr from the subtree, leaving the
+     * entry itself untouched.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param curr current node
+     * @return the root of the balanced subtree without its rightmost entry
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> removeMax(
+            ExternalChainingTreeEntry<K, V> curr) {
+        if (curr.right == null) {
+            return curr.left;
+        }
+        curr.right = removeMax(curr.right);
+        update(curr);
+        return balance(curr);
+    }
+
+    /**
+     * Returns whether the entry is in the subtree, looking down both sides
+     * of every tie.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param curr  the root of the subtree
+     * @param entry the entry to look for
+     * @return true if the entry is below curr
+     */
+    private static <K, V> boolean holds(ExternalChainingTreeEntry<K, V> curr,
+                                        ExternalChainingTreeEntry<K, V> entry) {
+        while (curr != null && curr != entry) {
+            int compare = compare(entry.hash, entry.getKey(), curr);
+            if (compare < 0) {
+                curr = curr.left;
+            } else if (compare > 0) {
+                curr = curr.right;
+            } else {
+                return holds(curr.left, entry) || holds(curr.right, entry);
+            }
+        }
+        return curr != null;
+    }
+
+    /**
+     * Orders a key against an entry by hash code, then class name, then
+     * compareTo between keys of the same class, then identity hash code.
+     * @param hash  the hash code of the key
+     * @param key   the key to place
+     * @param entry the entry to compare against
+     * @return negative, zero or positive as the key belongs before, tied
+     * with or after the entry
+     */
+    private static int compare(int hash, Object key,
+                               ExternalChainingTreeEntry<?, ?> entry) {
+        if (hash != entry.hash) {
+            return hash < entry.hash ? -1 : 1;
+        }
+        Object other = entry.getKey();
+        int compare = key.getClass().getName()
+                .compareTo(other.getClass().getName());
+        if (compare == 0) {
+            compare = compareComparables(key, other);
+        }
+        if (compare == 0) {
+            compare = Integer.compare(System.identityHashCode(key),
+                    System.identityHashCode(other));
+        }
+        return compare;
+    }
+
+    /**
+     * Compares two keys with compareTo when both are Comparable instances
+     * of the same class.
+     * @param key   the first key
+     * @param other the second key
+     * @return the result of compareTo, or 0 if the keys cannot be compared
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparables(Object key, Object other) {
+        if (key instanceof Comparable && key.getClass() == other.getClass()) {
+            return ((Comparable) key).compareTo(other);
+        }
+        return 0;
+    }
+
+    /**
+     * Helps to update balance factor and height of the node.
+     * @param node current node
+     */
+    private static void update(ExternalChainingTreeEntry<?, ?> node) {
+        int lHeight = node.left == null ? -1 : node.left.height;
+        int rHeight = node.right == null ? -1 : node.right.height;
+        node.height = 1 + Math.max(lHeight, rHeight);
+        node.balanceFactor = lHeight - rHeight;
+    }
+
+    /**
+     * Helps to left rotate.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param curr current node
+     * @return result node
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> leftRotate(
+            ExternalChainingTreeEntry<K, V> curr) {
+        ExternalChainingTreeEntry<K, V> newNode = curr.right;
+        curr.right = newNode.left;
+        newNode.left = curr;
+        update(curr);
+        update(newNode);
+        return newNode;
+    }
+
+    /**
+     * Helps to right rotate.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param curr current node
+     * @return result node
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> rightRotate(
+            ExternalChainingTreeEntry<K, V> curr) {
+        ExternalChainingTreeEntry<K, V> newNode = curr.left;
+        curr.left = newNode.right;
+        newNode.right = curr;
+        update(curr);
+        update(newNode);
+        return newNode;
+    }
+
+    /**
+     * Helps to balance.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param curr current node
+     * @return result node
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> balance(
+            ExternalChainingTreeEntry<K, V> curr) {
+        if (curr.balanceFactor < -1) {
+            if (curr.right.balanceFactor > 0) {
+                curr.right = rightRotate(curr.right);
+            }
+            curr = leftRotate(curr);
+        } else if (curr.balanceFactor > 1) {
+            if (curr.left.balanceFactor < 0) {
+                curr.left = leftRotate(curr.left);
+            }
+            curr = rightRotate(curr);
+        }
+        return curr;
+    }
+
+    /**
+     * Moves the new root to the head of the thread.
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @param head the current head of the thread
+     * @param root the root of the tree
+     * @return the root, now the head
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> moveToFront(
+            ExternalChainingTreeEntry<K, V> head,
+            ExternalChainingTreeEntry<K, V> root) {
+        if (root != head) {
+            unlink(root);
+            root.setNext(head);
+            head.prev = root;
+        }
+        return root;
+    }
+
+    /**
+     * Takes an entry out of the thread.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param entry the entry to unlink
+     */
+    private static <K, V> void unlink(ExternalChainingTreeEntry<K, V> entry) {
+        ExternalChainingTreeEntry<K, V> after = thread(entry.getNext());
+        if (entry.prev != null) {
+            entry.prev.setNext(after);
+        }
+        if (after != null) {
+            after.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.setNext(null);
+    }
+
+    /**
+     * Casts a thread link, which is always a tree entry inside a tree.
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @param entry the link to cast
+     * @return the same entry as a tree entry
+     */
+    private static <K, V> ExternalChainingTreeEntry<K, V> thread(
+            ExternalChainingMapEntry<K, V> entry) {
+        return (ExternalChainingTreeEntry<K, V>) entry;
+    }
+}
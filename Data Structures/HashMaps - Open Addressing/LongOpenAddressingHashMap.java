@@ -0,0 +1,255 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * OpenAddressingHashMap specialized for long keys. Keys are stored in a
+ * long[] next to an array of values, so neither keys nor entries are boxed.
+ * Values may not be null, which lets a null value mark an empty slot, so
+ * every long including 0 is a valid key.
+ * @param <V> the type of the values
+ */
+public class LongOpenAddressingHashMap<V> {
+
+    public static final int INITIAL_CAPACITY = 16;
+    public static final double MAX_LOAD_FACTOR = 0.67;
+    private long[] keys;
+    private V[] values;
+    private int shift;
+    private int size;
+
+    /**
+     * Constructs a new LongOpenAddressingHashMap.
+     */
+    public LongOpenAddressingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new LongOpenAddressingHashMap.
+     * @param capacity the initial capacity of the backing arrays, rounded up
+     *                 to a power of two
+     * @throws java.lang.IllegalArgumentException if capacity is negative
+     */
+    public LongOpenAddressingHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity is negative!");
+        }
+        allocate(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map, replacing the value of an
+     * existing entry with the same key.
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if value is null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value is null!");
+        }
+        if ((double) (size + 1) / (double) keys.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * keys.length);
+        }
+        int mask = keys.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            if (values[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return null;
+            } else if (keys[i] == key) {
+                V replace = values[i];
+                values[i] = value;
+                return replace;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry with a matching key from the map, shifting later
+     * entries of its cluster back into the freed slot.
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(long key) {
+        int hole = indexOf(key);
+        if (hole < 0) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        V removed = values[hole];
+        int mask = keys.length - 1;
+        for (int i = (hole + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the keys contained in this map without boxing them.
+     * @return a new array of the keys in this map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                result[count++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map.
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> data = new ArrayList<>(size);
+        for (V value : values) {
+            if (value != null) {
+                data.add(value);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Resize the backing table to at least length, rounded up to a power of
+     * two that leaves at least one slot empty so every probe terminates.
+     * @param length new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("Length is less than the number of items!");
+        }
+        int capacity = tableSizeFor(length);
+        if (capacity == size) {
+            capacity *= 2;
+        }
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        size = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the size of the map.
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the backing arrays.
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Finds the slot holding the key.
+     * @param key the key to search for
+     * @return the slot of the key, or -1 if it is not in the map
+     */
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the home slot of a key, taken from the top bits of its
+     * product with the Fibonacci multiplier.
+     * @param key the key to place
+     * @return the home slot in [0, capacity)
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Replaces the backing arrays with empty ones of the given capacity.
+     * @param capacity a power of two no less than 2
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * Rounds a requested capacity up to a power of two no less than 2.
+     * @param capacity the requested capacity
+     * @return the table size to allocate
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 2) {
+            return 2;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
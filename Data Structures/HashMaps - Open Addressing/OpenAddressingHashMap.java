@@ -0,0 +1,289 @@
+import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map that resolves collisions with linear probing instead of chains.
+ * Keys, values and cached hash codes live in three parallel arrays, so a
+ * put allocates nothing and a lookup walks consecutive slots instead of
+ * following pointers. The capacity is always a power of two and hash codes
+ * are scrambled with a Fibonacci multiplier before their top bits pick the
+ * home slot. Removal uses backward-shift deletion, pulling later entries of
+ * the cluster into the hole, so there are no tombstones and probe lengths
+ * never degrade after deletes.
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class OpenAddressingHashMap<K, V> {
+
+    public static final int INITIAL_CAPACITY = 16;
+    public static final double MAX_LOAD_FACTOR = 0.67;
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int shift;
+    private int size;
+
+    /**
+     * Constructs a new OpenAddressingHashMap.
+     */
+    public OpenAddressingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new OpenAddressingHashMap.
+     * @param capacity the initial capacity of the backing arrays, rounded up
+     *                 to a power of two
+     * @throws java.lang.IllegalArgumentException if capacity is negative
+     */
+    public OpenAddressingHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity is negative!");
+        }
+        allocate(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one
+     * passed in.
+     *
+     * In the case of a collision, probe the following slots until the key
+     * or an empty slot is found. The key is always found before the first
+     * empty slot of its cluster, so no other duplicate check is needed.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!");
+        }
+        if ((double) (size + 1) / (double) keys.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * keys.length);
+        }
+        int hash = key.hashCode();
+        int mask = keys.length - 1;
+        for (int i = slot(hash); ; i = (i + 1) & mask) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                hashes[i] = hash;
+                size++;
+                return null;
+            } else if (hashes[i] == hash && keys[i].equals(key)) {
+                V replace = values[i];
+                values[i] = value;
+                return replace;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry with a matching key from the map. Every later entry
+     * of the same cluster that may live in the freed slot is shifted back
+     * into it, so lookups never have to skip deleted markers.
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        }
+        int hole = indexOf(key);
+        if (hole < 0) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        V removed = values[hole];
+        int mask = keys.length - 1;
+        for (int i = (hole + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = slot(hashes[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hashes[hole] = hashes[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("Key is not in the map!");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is null!");
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns a Set view of the keys contained in this map.
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+        for (K key : keys) {
+            if (key != null) {
+                set.add(key);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map.
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> data = new ArrayList<>(size);
+        for (V value : values) {
+            if (value != null) {
+                data.add(value);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Resize the backing table to at least length, rounded up to a power of
+     * two that leaves at least one slot empty so every probe terminates.
+     * @param length new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("Length is less than the number of items!");
+        }
+        int capacity = tableSizeFor(length);
+        if (capacity == size) {
+            capacity *= 2;
+        }
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = slot(oldHashes[j]);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        size = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the size of the map.
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the backing arrays.
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Finds the slot holding the key.
+     * @param key the key to search for
+     * @return the slot of the key, or -1 if it is not in the map
+     */
+    private int indexOf(K key) {
+        int hash = key.hashCode();
+        int mask = keys.length - 1;
+        for (int i = slot(hash); keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the home slot of a hash code, taken from the top bits of its
+     * product with the Fibonacci multiplier so nearby hash codes spread out.
+     * @param hash the hash code of a key
+     * @return the home slot in [0, capacity)
+     */
+    private int slot(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Replaces the backing arrays with empty ones of the given capacity.
+     * @param capacity a power of two no less than 2
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        hashes = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * Rounds a requested capacity up to a power of two no less than 2.
+     * @param capacity the requested capacity
+     * @return the table size to allocate
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 2) {
+            return 2;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}